@@ -0,0 +1,65 @@
+package biorhythm;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+// Random inputs shared by the benchmarks; the same seed is used every time, so every run measures the same work
+final class BenchmarkInputs
+{
+    // Number of random date pairs the benchmarks cycle through; a power of two so an index can wrap around with a mask
+    static final int INPUTS = 4096;
+
+    static final int CENTURY_DAYS = 36525;
+
+    // Size of the population searched by the compatibility benchmarks
+    static final int POPULATION = 1_000_000;
+
+    final int[] bDays = new int[INPUTS];
+    final int[] bMonths = new int[INPUTS];
+    final int[] bYears = new int[INPUTS];
+    final int[] tDays = new int[INPUTS];
+    final int[] tMonths = new int[INPUTS];
+    final int[] tYears = new int[INPUTS];
+    final LocalDate[] bDates = new LocalDate[INPUTS];
+
+    BenchmarkInputs()
+    {
+        Random random = new Random(42);
+
+        for (int i = 0; i < INPUTS; i++)
+        {
+            bDays[i] = 1 + random.nextInt(28);
+            bMonths[i] = 1 + random.nextInt(12);
+            bYears[i] = BiorhythmDates.MIN_BIRTH_YEAR + random.nextInt(100);
+            tDays[i] = 1 + random.nextInt(28);
+            tMonths[i] = 1 + random.nextInt(12);
+            tYears[i] = 2010 + random.nextInt(30);
+            bDates[i] = LocalDate.of(bYears[i], bMonths[i], bDays[i]);
+        }
+    }
+
+    // Birthdates from 1930 to 2010, as epoch days
+    static int[] population()
+    {
+        Random random = new Random(7);
+        int first = BiorhythmDates.epochDay(1, 1, 1930);
+        int last = BiorhythmDates.epochDay(31, 12, 2010);
+
+        int[] population = new int[POPULATION];
+        for (int i = 0; i < POPULATION; i++)
+            population[i] = first + random.nextInt(last - first + 1);
+
+        return population;
+    }
+
+    // A date written the way calculate(String, String) expects it, like "01 02 1999"
+    static String format(int day, int month, int year)
+    {
+        return pad(day) + " " + pad(month) + " " + year;
+    }
+
+    private static String pad(int value)
+    {
+        return value < 10 ? ("0" + value) : (String.valueOf(value));
+    }
+}
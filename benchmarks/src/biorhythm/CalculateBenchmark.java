@@ -0,0 +1,51 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A Calculate press without the window: from formatted date strings, and straight from the numbers
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CalculateBenchmark
+{
+    private final BenchmarkInputs inputs = new BenchmarkInputs();
+    private BiorhythmCalculatorClass calculator;
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        calculator = new BiorhythmCalculatorClass(true);
+    }
+
+    @Benchmark
+    public Object[] strings()
+    {
+        int i = invocation++ & (BenchmarkInputs.INPUTS - 1);
+
+        return calculator.calculate(BenchmarkInputs.format(inputs.bDays[i], inputs.bMonths[i], inputs.bYears[i]),
+                BenchmarkInputs.format(inputs.tDays[i], inputs.tMonths[i], inputs.tYears[i]));
+    }
+
+    @Benchmark
+    public Object[] numbers()
+    {
+        int i = invocation++ & (BenchmarkInputs.INPUTS - 1);
+
+        return calculator.calculate(inputs.bDays[i], inputs.bMonths[i], inputs.bYears[i], inputs.tDays[i], inputs.tMonths[i], inputs.tYears[i]);
+    }
+}
@@ -0,0 +1,119 @@
+package biorhythm;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+
+// One 100 year forecast written and read back as binary columns (ForecastColumns) and as CSV
+// Neither write is synced to disk, so the write benchmarks compare the formats rather than the disk
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnsBenchmark
+{
+    private final int birth = BiorhythmDates.epochDay(15, 6, 1950);
+    private File columnFile;
+    private File csvFile;
+    private int invocation;
+
+    // Both files are written once, so the read benchmarks have something to read
+    @Setup
+    public void setUp() throws IOException
+    {
+        columnFile = File.createTempFile("biorhythm-benchmark", ".biof");
+        csvFile = File.createTempFile("biorhythm-benchmark", ".csv");
+
+        binaryWrite100Years();
+        csvWrite100Years();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        columnFile.delete();
+        csvFile.delete();
+    }
+
+    // Replaces the binary file each time
+    @Benchmark
+    public long binaryWrite100Years() throws IOException
+    {
+        Files.deleteIfExists(columnFile.toPath());
+
+        return ForecastColumns.append(columnFile.toPath(), birth, birth + 10000 + (invocation++ & 15), BenchmarkInputs.CENTURY_DAYS, false);
+    }
+
+    // The epoch day and the three cycles on each line
+    @Benchmark
+    public long csvWrite100Years() throws IOException
+    {
+        int firstTarget = birth + 10000 + (invocation++ & 15);
+
+        try (Writer out = Files.newBufferedWriter(csvFile.toPath(), StandardCharsets.US_ASCII))
+        {
+            for (int row = 0; row < BenchmarkInputs.CENTURY_DAYS; row++)
+            {
+                int dayDifference = firstTarget - birth + row;
+
+                out.write(Integer.toString(firstTarget + row));
+                for (int c = 0; c < CycleTable.PERIODS.length; c++)
+                {
+                    out.write(',');
+                    out.write(Float.toString((float) CycleTable.wholeDay(c, dayDifference)));
+                }
+                out.write('\n');
+            }
+        }
+
+        return csvFile.length();
+    }
+
+    // Reads back only the physical column
+    @Benchmark
+    public float[] binaryReadPhysical() throws IOException
+    {
+        try (ForecastColumns file = ForecastColumns.open(columnFile.toPath()))
+        {
+            return file.readCycle(CycleTable.PHYSICAL);
+        }
+    }
+
+    // Reading the physical column of the CSV file means reading and splitting every line
+    @Benchmark
+    public float[] csvReadPhysical() throws IOException
+    {
+        float[] values = new float[BenchmarkInputs.CENTURY_DAYS];
+        int count = 0;
+
+        try (BufferedReader in = Files.newBufferedReader(csvFile.toPath(), StandardCharsets.US_ASCII))
+        {
+            String line;
+            while ((line = in.readLine()) != null)
+            {
+                int start = line.indexOf(',') + 1;
+                values[count++] = Float.parseFloat(line.substring(start, line.indexOf(',', start)));
+            }
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,80 @@
+package biorhythm;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The 10 people of a million most in sync with one birthdate, from CompatibilityIndex and by scoring everyone
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompatibilityBenchmark
+{
+    private final BenchmarkInputs inputs = new BenchmarkInputs();
+    private int[] population;
+    private CompatibilityIndex index;
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        population = BenchmarkInputs.population();
+        index = new CompatibilityIndex(population);
+    }
+
+    @Benchmark
+    public int buildIndex()
+    {
+        return new CompatibilityIndex(population).occupiedClasses();
+    }
+
+    @Benchmark
+    public int indexTop10()
+    {
+        return index.top((int) inputs.bDates[invocation++ & (BenchmarkInputs.INPUTS - 1)].toEpochDay(), 10).get(0).person;
+    }
+
+    // The same query answered by scoring every person and keeping the best 10
+    @Benchmark
+    public int scanTop10()
+    {
+        int reference = (int) inputs.bDates[invocation++ & (BenchmarkInputs.INPUTS - 1)].toEpochDay();
+
+        int[] best = new int[10];
+        double[] bestScores = new double[10];
+        Arrays.fill(bestScores, Double.NEGATIVE_INFINITY);
+
+        for (int person = 0; person < population.length; person++)
+        {
+            double score = CompatibilityIndex.score(reference, population[person]);
+            if (score <= bestScores[9])
+                continue;
+
+            int position = 9;
+            while (position > 0 && bestScores[position - 1] < score)
+            {
+                best[position] = best[position - 1];
+                bestScores[position] = bestScores[position - 1];
+                position--;
+            }
+
+            best[position] = person;
+            bestScores[position] = score;
+        }
+
+        return best[0];
+    }
+}
@@ -0,0 +1,59 @@
+package biorhythm;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Turning entered dates into a day difference: the old string path against BiorhythmDates
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatesBenchmark
+{
+    private final BenchmarkInputs inputs = new BenchmarkInputs();
+    private final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd MM yyyy");
+    private int invocation;
+
+    // The old path of the Calculate button: zero-padded strings, DateTimeFormatter, LocalDateTime and Duration
+    @Benchmark
+    public long stringParseDuration()
+    {
+        int i = invocation++ & (BenchmarkInputs.INPUTS - 1);
+
+        LocalDateTime date1 = LocalDate.parse(BenchmarkInputs.format(inputs.bDays[i], inputs.bMonths[i], inputs.bYears[i]), dtf).atStartOfDay();
+        LocalDateTime date2 = LocalDate.parse(BenchmarkInputs.format(inputs.tDays[i], inputs.tMonths[i], inputs.tYears[i]), dtf).atStartOfDay();
+
+        return Duration.between(date1, date2).toDays();
+    }
+
+    // The new path: day differences straight from the numbers
+    @Benchmark
+    public long primitiveEpochDay()
+    {
+        int i = invocation++ & (BenchmarkInputs.INPUTS - 1);
+
+        return BiorhythmDates.dayDifference(inputs.bDays[i], inputs.bMonths[i], inputs.bYears[i], inputs.tDays[i], inputs.tMonths[i], inputs.tYears[i]);
+    }
+
+    // Formats a date the way calculate(String, String) expects it and parses it back
+    @Benchmark
+    public long formatParseRoundTrip()
+    {
+        return LocalDate.parse(dtf.format(inputs.bDates[invocation++ & (BenchmarkInputs.INPUTS - 1)]), dtf).toEpochDay();
+    }
+}
@@ -0,0 +1,61 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Critical days and all-red stretches over 100 years, found analytically by CriticalDayFinder and by checking every day
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventsBenchmark
+{
+    private int invocation;
+
+    // Every zero crossing, peak and trough of the three cycles
+    @Benchmark
+    public long criticalDays100Years()
+    {
+        int first = invocation++ & 1023;
+        long[] count = new long[1];
+
+        CriticalDayFinder.events(first, first + BenchmarkInputs.CENTURY_DAYS, (cycle, type, day) -> count[0]++);
+        return count[0];
+    }
+
+    // The days on which all three cycles are red
+    @Benchmark
+    public int allBelowAnalytic100Years()
+    {
+        int first = invocation++ & 1023;
+
+        return CriticalDayFinder.allBelow(CycleCellRenderer.THRESHOLD, first, first + BenchmarkInputs.CENTURY_DAYS).size();
+    }
+
+    // The same days found by checking every day, the way the table would have to
+    @Benchmark
+    public long allBelowSampled100Years()
+    {
+        long red = 0;
+
+        for (int day = invocation++ & 1023, end = day + BenchmarkInputs.CENTURY_DAYS; day < end; day++)
+        {
+            if (BiorhythmEngine.physical(day) < -CycleCellRenderer.THRESHOLD && BiorhythmEngine.emotional(day) < -CycleCellRenderer.THRESHOLD
+                    && BiorhythmEngine.intellectual(day) < -CycleCellRenderer.THRESHOLD)
+                red++;
+        }
+
+        return red;
+    }
+}
@@ -0,0 +1,51 @@
+package biorhythm;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.chart.ChartUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+
+// What the Save button does, written to a temporary file instead of Chart.png
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ExportBenchmark
+{
+    private BiorhythmCalculatorClass calculator;
+    private File exportFile;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        calculator = new BiorhythmCalculatorClass(true);
+        exportFile = File.createTempFile("biorhythm-benchmark", ".png");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        exportFile.delete();
+    }
+
+    @Benchmark
+    public long saveChartAsPNG() throws IOException
+    {
+        ChartUtilities.saveChartAsPNG(exportFile, calculator.getChart(), 400, 300);
+        return exportFile.length();
+    }
+}
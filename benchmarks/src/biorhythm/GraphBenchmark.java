@@ -0,0 +1,61 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Filling the graph: the default 10 day graph, a Calculate press that redraws it, and a 100 year forecast
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GraphBenchmark
+{
+    private final BenchmarkInputs inputs = new BenchmarkInputs();
+    private BiorhythmCalculatorClass calculator;
+    private AdaptiveCycleDataset dataset;
+    private AdaptiveCycleDataset centuryDataset;
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        calculator = new BiorhythmCalculatorClass(true);
+        dataset = new AdaptiveCycleDataset();
+        centuryDataset = new AdaptiveCycleDataset();
+    }
+
+    // Resamples the three functions of the default graph for a new day difference
+    @Benchmark
+    public int seriesGeneration()
+    {
+        dataset.setForecast(invocation++, AdaptiveCycleDataset.DEFAULT_DAYS);
+        return dataset.getItemCount(0);
+    }
+
+    // A Calculate press that moves the target date, which redraws the graph through createGraph()
+    @Benchmark
+    public Object[] createGraph()
+    {
+        return calculator.calculate(inputs.bDays[0], inputs.bMonths[0], inputs.bYears[0], 1 + (invocation++ & 15), inputs.tMonths[0], inputs.tYears[0]);
+    }
+
+    // A 100 year forecast sampled for a 600 pixel wide graph
+    @Benchmark
+    public int adaptive100Years()
+    {
+        centuryDataset.setForecast(invocation++, BenchmarkInputs.CENTURY_DAYS);
+        return centuryDataset.getItemCount(0);
+    }
+}
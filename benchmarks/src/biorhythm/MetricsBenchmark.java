@@ -0,0 +1,37 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The cost a stage pays for being measured: one span opened and closed around nothing
+// Run with -jvmArgsAppend -Dbiorhythm.metrics=false to see the cost when metrics are turned off
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark
+{
+    @Setup
+    public void setUp()
+    {
+        System.out.println("(metrics are " + (BiorhythmMetrics.isEnabled() ? "on" : "off") + ")");
+    }
+
+    @Benchmark
+    public void emptySpan()
+    {
+        BiorhythmMetrics.start(BiorhythmMetrics.Stage.CALCULATE).close();
+    }
+}
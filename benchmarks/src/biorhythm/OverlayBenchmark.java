@@ -0,0 +1,64 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 100 people overlaid over a one year forecast: one of them changing, and all of them resampled when the target date moves
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OverlayBenchmark
+{
+    private static final int PROFILES = 100;
+
+    private ProfileOverlayDataset overlay;
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        overlay = new ProfileOverlayDataset(BiorhythmDates.epochDay(1, 1, 2024), 365);
+
+        int[] population = BenchmarkInputs.population();
+        String[] names = new String[PROFILES];
+        int[] birthEpochDays = new int[PROFILES];
+        for (int i = 0; i < PROFILES; i++)
+        {
+            names[i] = "Person " + (i + 1);
+            birthEpochDays[i] = population[i];
+        }
+
+        overlay.addProfiles(names, birthEpochDays);
+    }
+
+    // One person gets a new birthdate, which only resamples their three series
+    @Benchmark
+    public int changeOneProfile()
+    {
+        int profile = invocation % PROFILES;
+
+        overlay.setBirthEpochDay(profile, overlay.getBirthEpochDay(profile) + ((invocation++ & 1) == 0 ? 1 : -1));
+        return overlay.getItemCount(profile * ProfileOverlayDataset.CYCLES);
+    }
+
+    // The target date moves, which resamples everyone
+    @Benchmark
+    public int resampleAllProfiles()
+    {
+        overlay.setForecast(overlay.getTargetEpochDay() + ((invocation++ & 1) == 0 ? 1 : -1), 365);
+        return overlay.getItemCount(0);
+    }
+}
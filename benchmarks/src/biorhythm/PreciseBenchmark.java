@@ -0,0 +1,96 @@
+package biorhythm;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 4096 samples of all three cycles: whole days from the tables, hours with Math.sin, hours by PreciseBiorhythm.series,
+// and 4096 people at one moment by PreciseBiorhythm.evaluate
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreciseBenchmark
+{
+    private static final int SAMPLES = 4096;
+
+    // The moment the hourly forecasts start, as an epoch second
+    private static final long START = 1_700_000_000L;
+
+    private final double[] physical = new double[SAMPLES];
+    private final double[] emotional = new double[SAMPLES];
+    private final double[] intellectual = new double[SAMPLES];
+
+    // Random times of birth over the last 100 years, as epoch seconds
+    private final long[] birthSeconds = new long[SAMPLES];
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++)
+            birthSeconds[i] = START - (long) (random.nextDouble() * BenchmarkInputs.CENTURY_DAYS * 86400);
+    }
+
+    // The whole-day mode: one table lookup per cycle and day
+    @Benchmark
+    public double[] wholeDayLookup()
+    {
+        int first = 30000 + (invocation++ & 1023);
+
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            physical[i] = CycleTable.wholeDay(CycleTable.PHYSICAL, first + i);
+            emotional[i] = CycleTable.wholeDay(CycleTable.EMOTIONAL, first + i);
+            intellectual[i] = CycleTable.wholeDay(CycleTable.INTELLECTUAL, first + i);
+        }
+
+        return physical;
+    }
+
+    // An hourly forecast with one Math.sin per cycle and hour
+    @Benchmark
+    public double[] hourlyMathSin()
+    {
+        long birth = birthSeconds[invocation++ & (SAMPLES - 1)];
+
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            double days = PreciseBiorhythm.days(birth, START + i * 3600L);
+            physical[i] = Math.sin(2 * Math.PI * days / 23);
+            emotional[i] = Math.sin(2 * Math.PI * days / 28);
+            intellectual[i] = Math.sin(2 * Math.PI * days / 33);
+        }
+
+        return physical;
+    }
+
+    // The same hourly forecast by rotation
+    @Benchmark
+    public double[] hourlySeries()
+    {
+        PreciseBiorhythm.series(birthSeconds[invocation++ & (SAMPLES - 1)], START, 3600, SAMPLES, physical, emotional, intellectual);
+        return physical;
+    }
+
+    // Everyone's biorhythm at one moment, to the second
+    @Benchmark
+    public double[] population()
+    {
+        PreciseBiorhythm.evaluate(birthSeconds, START + invocation++, physical, emotional, intellectual);
+        return physical;
+    }
+}
@@ -0,0 +1,142 @@
+package biorhythm;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.table.TableCellRenderer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Painting every cell of one row of a 100k row forecast table, before and after CycleCellRenderer
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark
+{
+    // Number of rows in the table
+    private static final int TABLE_ROWS = 100_000;
+
+    private final BenchmarkInputs inputs = new BenchmarkInputs();
+    private JTable legacyTable;
+    private JTable table;
+    private Graphics2D canvas;
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        canvas = new BufferedImage(200, 20, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        // The way the table was painted before CycleCellRenderer: each cell value is turned into a string and parsed back,
+        // and empty cells are detected by catching an exception
+        legacyTable = new JTable(forecastModel())
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Component prepareRenderer(TableCellRenderer renderer, int rowIndex, int columnIndex)
+            {
+                JComponent component = (JComponent) super.prepareRenderer(renderer, rowIndex, columnIndex);
+
+                if(columnIndex == 0)
+                {
+                    component.setBackground(Color.WHITE);
+                }
+                else
+                {
+                    try
+                    {
+                        double value = Double.parseDouble(getValueAt(rowIndex, columnIndex).toString());
+
+                        if(value > 0.3)
+                            component.setBackground(Color.GREEN);
+                        else if (value < - 0.3)
+                            component.setBackground(Color.RED);
+                        else
+                            component.setBackground(Color.YELLOW);
+                    }
+                    catch(NullPointerException e)
+                    {
+                        // empty table
+                    }
+                }
+                return component;
+            }
+        };
+
+        // The old table showed every column with the plain text renderer
+        legacyTable.setDefaultRenderer(Double.class, legacyTable.getDefaultRenderer(Object.class));
+
+        table = new JTable(forecastModel());
+
+        CycleCellRenderer renderer = new CycleCellRenderer();
+        table.setDefaultRenderer(String.class, renderer);
+        table.setDefaultRenderer(Double.class, renderer);
+    }
+
+    @Benchmark
+    public long parseDoubleRow()
+    {
+        return paintRow(legacyTable, invocation++ % TABLE_ROWS);
+    }
+
+    @Benchmark
+    public long cycleCellRendererRow()
+    {
+        return paintRow(table, invocation++ % TABLE_ROWS);
+    }
+
+    // What JTable reads from the model to repaint the five visible rows, which allocates nothing once they are calculated
+    @Benchmark
+    public long visibleRowValues()
+    {
+        long hash = 0;
+
+        for (int row = 0; row < 5; row++)
+        {
+            for (int column = 0; column < table.getColumnCount(); column++)
+                hash += System.identityHashCode(table.getValueAt(row, column));
+        }
+
+        return hash;
+    }
+
+    private long paintRow(JTable target, int row)
+    {
+        long painted = 0;
+
+        for (int column = 0; column < target.getColumnCount(); column++)
+        {
+            Component component = target.prepareRenderer(target.getCellRenderer(row, column), row, column);
+            component.setBounds(0, 0, 200, 20);
+            component.paint(canvas);
+            painted += component.getBackground().getRGB();
+        }
+
+        return painted;
+    }
+
+    private ForecastTableModel forecastModel()
+    {
+        ForecastTableModel model = new ForecastTableModel();
+        model.setForecast(BiorhythmDates.epochDay(inputs.bDays[0], inputs.bMonths[0], inputs.bYears[0]),
+                BiorhythmDates.epochDay(inputs.tDays[0], inputs.tMonths[0], inputs.tYears[0]), TABLE_ROWS);
+        return model;
+    }
+}
@@ -0,0 +1,116 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Checking entered dates: one date at a time, and 4096 rows with an exception per invalid row against DateValidator
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ValidationBenchmark
+{
+    private static final int[] DAYS_PER_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final BenchmarkInputs inputs = new BenchmarkInputs();
+
+    // The inputs again as one bulk batch, with every tenth row made invalid in one of several ways
+    private final int[][] bulkRows = new int[6][BenchmarkInputs.INPUTS];
+    private final byte[] bulkReasons = new byte[BenchmarkInputs.INPUTS];
+
+    private BiorhythmCalculatorClass calculator;
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        calculator = new BiorhythmCalculatorClass(true);
+
+        for (int i = 0; i < BenchmarkInputs.INPUTS; i++)
+        {
+            int[] row = {inputs.bDays[i], inputs.bMonths[i], inputs.bYears[i], inputs.tDays[i], inputs.tMonths[i], inputs.tYears[i]};
+
+            if (i % 10 == 3)
+            {
+                switch ((i / 10) % 5)
+                {
+                    case 0: row[0] = 31; row[1] = 4; break;      // 31 April
+                    case 1: row[4] = 13; break;                  // month 13
+                    case 2: row[3] = 29; row[4] = 2; row[5] = 2100; break; // 2100 is not a leap year
+                    case 3: row[2] = 1850; break;                // older than anyone alive
+                    default: row[2] = row[5] + 1; break;         // born after the target date
+                }
+            }
+
+            for (int column = 0; column < row.length; column++)
+                bulkRows[column][i] = row[column];
+        }
+    }
+
+    @Benchmark
+    public boolean checkIfInputValid()
+    {
+        int i = invocation++ & (BenchmarkInputs.INPUTS - 1);
+
+        return calculator.checkIfInputValid(inputs.bDays[i], inputs.bMonths[i], inputs.bYears[i]);
+    }
+
+    // 4096 rows checked the way the Calculate button used to: a NumberFormatException for every invalid row
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long throwPerInvalidRow()
+    {
+        long invalid = 0;
+
+        for (int i = 0; i < BenchmarkInputs.INPUTS; i++)
+        {
+            try
+            {
+                if (!BiorhythmDates.isSupportedRange(bulkRows[0][i], bulkRows[1][i], bulkRows[2][i], bulkRows[3][i], bulkRows[4][i], bulkRows[5][i]))
+                    throw new NumberFormatException();
+
+                if (legacyInvalid(bulkRows[0][i], bulkRows[1][i], bulkRows[2][i]) || legacyInvalid(bulkRows[3][i], bulkRows[4][i], bulkRows[5][i]))
+                    throw new NumberFormatException();
+            }
+            catch (NumberFormatException e)
+            {
+                invalid++;
+            }
+        }
+
+        return invalid;
+    }
+
+    // The same 4096 rows checked in one call, with a reason code per row and no exceptions
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int bulkValidator()
+    {
+        return DateValidator.validate(bulkRows[0], bulkRows[1], bulkRows[2], bulkRows[3], bulkRows[4], bulkRows[5], bulkReasons).cardinality();
+    }
+
+    // checkIfInputValid() as it was before DateValidator, including its every-fourth-year leap rule
+    private static boolean legacyInvalid(int days, int monthNum, int year)
+    {
+        if (monthNum < 1 || monthNum > 12)
+            return true;
+
+        int maxDays = DAYS_PER_MONTH[monthNum - 1];
+        if (monthNum == 2 && year % 4 == 0)
+            maxDays++;
+
+        return !(0 < days && days <= maxDays);
+    }
+}
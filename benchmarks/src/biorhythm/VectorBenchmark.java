@@ -0,0 +1,72 @@
+package biorhythm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The three cycles at 4096 ages, 0.1 days apart: Math.sin, the cycle tables, and BiorhythmEngine.evaluateOffsets
+// The benchmark JVM is started with the incubator module, so evaluateOffsets runs on SIMD lanes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class VectorBenchmark
+{
+    private static final int OFFSETS = 4096;
+    private static final double STEP = 0.1;
+
+    private final double[] offsets = new double[OFFSETS];
+    private final double[] physical = new double[OFFSETS];
+    private final double[] emotional = new double[OFFSETS];
+    private final double[] intellectual = new double[OFFSETS];
+
+    @Setup
+    public void setUp()
+    {
+        for (int i = 0; i < OFFSETS; i++)
+            offsets[i] = 30000 + i * STEP;
+
+        if (!BiorhythmEngine.isVectorized())
+            System.out.println("(evaluateOffsets is scalar, the incubator module is not loaded)");
+    }
+
+    // One Math.sin call per value
+    @Benchmark
+    public double[] mathSinLoop()
+    {
+        new BiorhythmEngine.ScalarOffsetEvaluator().evaluate(offsets, physical, emotional, intellectual, 0, OFFSETS);
+        return physical;
+    }
+
+    // The same offsets interpolated from the cycle tables, as the graph does
+    @Benchmark
+    public double[] cycleTableLoop()
+    {
+        for (int i = 0; i < OFFSETS; i++)
+        {
+            physical[i] = CycleTable.fractional(CycleTable.PHYSICAL, offsets[i]);
+            emotional[i] = CycleTable.fractional(CycleTable.EMOTIONAL, offsets[i]);
+            intellectual[i] = CycleTable.fractional(CycleTable.INTELLECTUAL, offsets[i]);
+        }
+
+        return physical;
+    }
+
+    @Benchmark
+    public double[] evaluateOffsets()
+    {
+        BiorhythmEngine.evaluateOffsets(offsets, physical, emotional, intellectual, 0, OFFSETS);
+        return physical;
+    }
+}
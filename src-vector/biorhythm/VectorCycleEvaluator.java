@@ -0,0 +1,42 @@
+package biorhythm;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD version of BiorhythmEngine.evaluateOffsets(), using the widest vectors the processor supports (4 doubles with AVX2, 8 with AVX-512)
+// Needs the incubator module at compile time and at run time: javac/java --add-modules jdk.incubator.vector
+// Kept in src-vector/ so the rest of the program compiles without that option; Gradle builds it as the 'vector' source set
+// BiorhythmEngine loads this class by name and falls back to a plain loop when the module is missing
+final class VectorCycleEvaluator implements BiorhythmEngine.OffsetEvaluator
+{
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final double PHYSICAL_SCALE = 2 * Math.PI / BiorhythmEngine.PHYSICAL_PERIOD;
+    private static final double EMOTIONAL_SCALE = 2 * Math.PI / BiorhythmEngine.EMOTIONAL_PERIOD;
+    private static final double INTELLECTUAL_SCALE = 2 * Math.PI / BiorhythmEngine.INTELLECTUAL_PERIOD;
+
+    @Override
+    public void evaluate(double[] days, double[] physical, double[] emotional, double[] intellectual, int from, int to)
+    {
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+
+        for (; i < upperBound; i += SPECIES.length())
+        {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, days, i);
+
+            t.mul(PHYSICAL_SCALE).lanewise(VectorOperators.SIN).intoArray(physical, i);
+            t.mul(EMOTIONAL_SCALE).lanewise(VectorOperators.SIN).intoArray(emotional, i);
+            t.mul(INTELLECTUAL_SCALE).lanewise(VectorOperators.SIN).intoArray(intellectual, i);
+        }
+
+        // The last few offsets that do not fill a whole vector
+        for (; i < to; i++)
+        {
+            physical[i] = Math.sin(days[i] * PHYSICAL_SCALE);
+            emotional[i] = Math.sin(days[i] * EMOTIONAL_SCALE);
+            intellectual[i] = Math.sin(days[i] * INTELLECTUAL_SCALE);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package biorhythm;
+
+import org.jfree.data.xy.AbstractXYDataset;
+
+// Dataset behind the graph for any forecast length: only the part of the forecast that is on screen is sampled,
+// and never with more points than the graph is wide in pixels, so memory and drawing time do not grow with the horizon
+//
+// How the points are chosen, separately for each cycle:
+// - the step between samples comes from the curve's curvature: a straight line between two samples h days apart is off by
+//   at most h^2 * w^2 / 8 (w = 2 * PI / period), so h is as large as it can be while staying within TOLERANCE_PIXELS
+// - if that needs more points than there are pixels, the window is split into buckets and one point is kept per bucket with
+//   Largest-Triangle-Three-Buckets (LTTB); the exact peaks and troughs inside each bucket are always candidates, so the
+//   extremes of the curve are kept however far the graph is zoomed out
+@SuppressWarnings("serial")
+public class AdaptiveCycleDataset extends AbstractXYDataset
+{
+    // Number of days shown when the user has not chosen a range
+    static final int DEFAULT_DAYS = 10;
+
+    // Size of the graph's plot area when it is not known yet
+    static final int DEFAULT_PIXEL_WIDTH = 600;
+    static final int DEFAULT_PIXEL_HEIGHT = 300;
+
+    // Largest vertical distance, in pixels, between the drawn line and the real curve
+    static final double TOLERANCE_PIXELS = 0.5;
+
+    // The y axis shows about -1.1 to 1.1
+    static final double VALUE_RANGE = 2.2;
+
+    // Most evenly spaced candidates looked at per LTTB bucket, on top of the bucket's peaks and troughs
+    private static final int CANDIDATES_PER_BUCKET = 32;
+
+    private static final String[] KEYS = {"Physical", "Emotional", "Intellectual"};
+
+    // The points of all three cycles for one window of one forecast
+    static final class Samples
+    {
+        // Days from the birth to the start of the forecast; fractional when the time of birth is known (see PreciseBiorhythm)
+        final double dayDifference;
+        final int days;
+        final double from;
+        final double to;
+        final double[][] x;
+        final double[][] y;
+        final int[] counts = new int[KEYS.length];
+
+        // Room for one point per pixel column
+        Samples(double dayDifference, int days, double from, double to, int pixelWidth)
+        {
+            this(dayDifference, days, from, to, new double[KEYS.length][Math.max(pixelWidth, 3)], new double[KEYS.length][Math.max(pixelWidth, 3)]);
+        }
+
+        private Samples(double dayDifference, int days, double from, double to, double[][] x, double[][] y)
+        {
+            this.dayDifference = dayDifference;
+            this.days = days;
+            this.from = from;
+            this.to = to;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private int pixelWidth = DEFAULT_PIXEL_WIDTH;
+    private int pixelHeight = DEFAULT_PIXEL_HEIGHT;
+    private Samples samples;
+
+    public AdaptiveCycleDataset()
+    {
+        samples = new Samples(0, DEFAULT_DAYS, 0, DEFAULT_DAYS, pixelWidth);
+        sample(samples, pixelHeight);
+    }
+
+    public double getDayDifference()
+    {
+        return samples.dayDifference;
+    }
+
+    // Number of days in the forecast
+    public int getDays()
+    {
+        return samples.days;
+    }
+
+    // Shows a new forecast, starting with the whole of it on screen
+    public void setForecast(double dayDifference, int days)
+    {
+        if (dayDifference == samples.dayDifference && days == samples.days && samples.from == 0 && samples.to == days)
+            return;
+
+        Samples next = new Samples(dayDifference, days, 0, days, pixelWidth);
+        sample(next, pixelHeight);
+        setSamples(next);
+    }
+
+    // Replaces the points with ones sampled by sample(), for example on a background thread
+    public void setSamples(Samples samples)
+    {
+        this.samples = samples;
+        fireDatasetChanged();
+    }
+
+    // Resamples the part of the forecast between 'from' and 'to' days after the target date, for example after a pan or zoom
+    // The window is kept inside the forecast; nothing happens if it has not changed
+    public void setWindow(double from, double to)
+    {
+        from = Math.max(0, from);
+        to = Math.min(samples.days, to);
+
+        if (!(from < to) || (from == samples.from && to == samples.to))
+            return;
+
+        // The arrays are refilled in place, since their size only depends on the width of the graph
+        Samples next = new Samples(samples.dayDifference, samples.days, from, to, samples.x, samples.y);
+
+        sample(next, pixelHeight);
+        setSamples(next);
+    }
+
+    // Tells the dataset how large the plot area is, in pixels, and resamples if it changed
+    public void setResolution(int width, int height)
+    {
+        if (width < 1 || height < 1 || (width == pixelWidth && height == pixelHeight))
+            return;
+
+        pixelWidth = width;
+        pixelHeight = height;
+
+        Samples next = new Samples(samples.dayDifference, samples.days, samples.from, samples.to, width);
+        sample(next, height);
+        setSamples(next);
+    }
+
+    int getPixelWidth()
+    {
+        return pixelWidth;
+    }
+
+    int getPixelHeight()
+    {
+        return pixelHeight;
+    }
+
+    // Fills in the points of all three cycles; safe to call on any thread, since it only touches 'samples'
+    static void sample(Samples samples, int pixelHeight)
+    {
+        for (int c = 0; c < KEYS.length; c++)
+            samples.counts[c] = sampleCycle(c, samples.dayDifference, samples.from, samples.to, samples.x[c].length, VALUE_RANGE / pixelHeight, samples.x[c], samples.y[c]);
+    }
+
+    // Samples one cycle between 'from' and 'to' with at most 'points' points and returns how many were written
+    // 'valuePerPixel' is the height of one pixel in cycle values
+    static int sampleCycle(int cycle, double dayDifference, double from, double to, int points, double valuePerPixel, double[] x, double[] y)
+    {
+        double period = CycleTable.PERIODS[cycle];
+        double step = Math.sqrt(8 * TOLERANCE_PIXELS * valuePerPixel) * period / (2 * Math.PI);
+        double length = to - from;
+
+        // Evenly spaced points are enough when the curve is smooth at this zoom level
+        int steps = (int) Math.ceil(length / step);
+        if (steps + 1 <= points)
+        {
+            steps = Math.max(steps, 1);
+            for (int i = 0; i <= steps; i++)
+            {
+                x[i] = from + length * i / steps;
+                y[i] = value(cycle, dayDifference, x[i]);
+            }
+            return steps + 1;
+        }
+
+        // Otherwise LTTB: the first and last points are kept, and each bucket in between contributes the candidate
+        // that makes the largest triangle with the point chosen before it and the average of the next bucket
+        int buckets = points - 2;
+        double width = length / buckets;
+        int candidates = Math.min(CANDIDATES_PER_BUCKET, (int) Math.ceil(width / step));
+
+        int count = 0;
+        x[count] = from;
+        y[count++] = value(cycle, dayDifference, from);
+
+        for (int b = 0; b < buckets; b++)
+        {
+            double start = from + b * width;
+            double end = b == buckets - 1 ? to : start + width;
+
+            double nextX;
+            double nextY;
+            if (b + 1 < buckets)
+            {
+                nextX = end + width / 2;
+                nextY = mean(cycle, dayDifference, end, Math.min(to, end + width));
+            }
+            else
+            {
+                nextX = to;
+                nextY = value(cycle, dayDifference, to);
+            }
+
+            double previousX = x[count - 1];
+            double previousY = y[count - 1];
+            double bestX = start;
+            double bestY = value(cycle, dayDifference, start);
+            double bestArea = -1;
+
+            for (int i = 0; i < candidates; i++)
+            {
+                double t = start + (end - start) * i / candidates;
+                double v = i == 0 ? bestY : value(cycle, dayDifference, t);
+                double area = Math.abs((previousX - nextX) * (v - previousY) - (previousX - t) * (nextY - previousY));
+
+                if (area > bestArea)
+                {
+                    bestArea = area;
+                    bestX = t;
+                    bestY = v;
+                }
+            }
+
+            // The peaks and troughs fall every half period, at a quarter period past each zero crossing
+            double half = period / 2;
+            for (double k = Math.ceil((dayDifference + start - period / 4) / half); ; k++)
+            {
+                double t = period / 4 + k * half - dayDifference;
+                if (t >= end)
+                    break;
+
+                double v = ((long) k & 1) == 0 ? 1 : -1;
+                double area = Math.abs((previousX - nextX) * (v - previousY) - (previousX - t) * (nextY - previousY));
+
+                if (area > bestArea)
+                {
+                    bestArea = area;
+                    bestX = t;
+                    bestY = v;
+                }
+            }
+
+            x[count] = bestX;
+            y[count++] = bestY;
+        }
+
+        x[count] = to;
+        y[count++] = value(cycle, dayDifference, to);
+        return count;
+    }
+
+    // The cycle 't' days after the target date
+    private static double value(int cycle, double dayDifference, double t)
+    {
+        return CycleTable.fractional(cycle, dayDifference + t);
+    }
+
+    // Average of the cycle between 'a' and 'b' days after the target date, from the integral of the sine:
+    // (cos(w * a) - cos(w * b)) / (w * (b - a)); the cosine is the sine a quarter period later
+    private static double mean(int cycle, double dayDifference, double a, double b)
+    {
+        double period = CycleTable.PERIODS[cycle];
+        if (b - a < 1e-9)
+            return value(cycle, dayDifference, a);
+
+        double cosA = CycleTable.fractional(cycle, dayDifference + a + period / 4);
+        double cosB = CycleTable.fractional(cycle, dayDifference + b + period / 4);
+
+        return (cosA - cosB) / (2 * Math.PI / period * (b - a));
+    }
+
+    @Override
+    public int getSeriesCount()
+    {
+        return KEYS.length;
+    }
+
+    @Override
+    public Comparable<String> getSeriesKey(int series)
+    {
+        return KEYS[series];
+    }
+
+    @Override
+    public int getItemCount(int series)
+    {
+        return samples.counts[series];
+    }
+
+    @Override
+    public double getXValue(int series, int item)
+    {
+        return samples.x[series][item];
+    }
+
+    @Override
+    public double getYValue(int series, int item)
+    {
+        return samples.y[series][item];
+    }
+
+    @Override
+    public Number getX(int series, int item)
+    {
+        return samples.x[series][item];
+    }
+
+    @Override
+    public Number getY(int series, int item)
+    {
+        return samples.y[series][item];
+    }
+}
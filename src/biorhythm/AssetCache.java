@@ -0,0 +1,130 @@
+package biorhythm;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Image;
+import java.awt.MediaTracker;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+// Loads the program's images once, in the background, and keeps the scaled versions for the rest of the run
+// Images are read from the 'assets' folder on the classpath, which is bundled with the program
+// Nothing here blocks the window from opening: labels and frames receive their image or cursor as soon as it is ready
+public final class AssetCache
+{
+    // Image shown on the tutorial screen
+    static final String TUTORIAL = "tutorial.jpg";
+    // Image shown above the birthdate fields
+    static final String HEADER = "header.jpg";
+    // Image used as the mouse cursor
+    static final String CURSOR = "cursor.png";
+
+    // A single background thread does all the decoding, so the images never compete with the window for the event thread
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "asset-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Scaled images, keyed by name and size (like "tutorial.jpg@500x350")
+    private static final Map<String, CompletableFuture<Image>> IMAGES = new ConcurrentHashMap<>();
+
+    private static volatile CompletableFuture<Cursor> cursor;
+
+    private AssetCache()
+    {
+    }
+
+    // Starts loading everything the windows will need, so it is ready by the time they ask for it
+    static void preload()
+    {
+        scaled(TUTORIAL, 500, 350);
+        scaled(HEADER, 300, 150);
+        cursor();
+    }
+
+    // The named image scaled to the given size; decoded and scaled only once, however often it is asked for
+    // Completes with null if the image cannot be found
+    static CompletableFuture<Image> scaled(String name, int width, int height)
+    {
+        return IMAGES.computeIfAbsent(name + "@" + width + "x" + height, key -> CompletableFuture.supplyAsync(() -> {
+            Image image = load(name);
+
+            // ImageIcon waits until the scaled image is fully drawn, so it is ready to paint once cached
+            return image == null ? null : new ImageIcon(image.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+        }, LOADER));
+    }
+
+    // The program's custom cursor, shared by every frame; completes with null if the cursor image cannot be found
+    static CompletableFuture<Cursor> cursor()
+    {
+        if (cursor == null)
+        {
+            synchronized (AssetCache.class)
+            {
+                if (cursor == null)
+                {
+                    cursor = CompletableFuture.supplyAsync(() -> {
+                        Image image = load(CURSOR);
+                        return image == null ? null : Toolkit.getDefaultToolkit().createCustomCursor(image, new Point(0, 0), "img");
+                    }, LOADER);
+                }
+            }
+        }
+
+        return cursor;
+    }
+
+    // Shows the scaled image on the label as soon as it is ready
+    // The label is given its final size straight away, so the window does not change size when the image arrives
+    static void showOn(JLabel label, String name, int width, int height)
+    {
+        label.setPreferredSize(new Dimension(width, height));
+
+        scaled(name, width, height).thenAccept(image -> {
+            if (image != null)
+                SwingUtilities.invokeLater(() -> label.setIcon(new ImageIcon(image)));
+        });
+    }
+
+    // Sets the custom cursor on the component as soon as it is ready
+    static void applyCursor(Component component)
+    {
+        cursor().thenAccept(c -> {
+            if (c != null)
+                SwingUtilities.invokeLater(() -> component.setCursor(c));
+        });
+    }
+
+    // Reads and decodes a bundled image (runs on the loader thread)
+    private static Image load(String name)
+    {
+        URL url = AssetCache.class.getResource("/assets/" + name);
+
+        if (url == null)
+        {
+            System.out.println("The image " + name + " could not be found! (AssetCache)");
+            return null;
+        }
+
+        ImageIcon icon = new ImageIcon(url);
+
+        if (icon.getImageLoadStatus() != MediaTracker.COMPLETE)
+        {
+            System.out.println("The image " + name + " could not be loaded! (AssetCache)");
+            return null;
+        }
+
+        return icon.getImage();
+    }
+}
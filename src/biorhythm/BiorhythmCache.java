@@ -0,0 +1,220 @@
+package biorhythm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded cache in front of BiorhythmCore.calculate(), safe to use from many threads; used by the HTTP server, whose
+// clients repeat the same queries (the window calls BiorhythmCore directly, since one table lookup is cheaper than a locked segment)
+// It has two levels:
+// - by birthdate and target date, so a repeated query skips the date arithmetic as well as the cycle lookups
+// - by phase: the three cycles repeat every 23 * 28 * 33 = 21252 days, so every day difference with the same
+//   remainder has the same values, and people with different birthdates can share an entry
+// Entries are evicted least recently used first once a level is full, and expire after the time to live
+public final class BiorhythmCache
+{
+    // Days after which all three cycles are back where they started
+    public static final int FULL_CYCLE_DAYS = BiorhythmEngine.PHYSICAL_PERIOD * BiorhythmEngine.EMOTIONAL_PERIOD * BiorhythmEngine.INTELLECTUAL_PERIOD;
+
+    // Each level is split into independently locked segments, so threads working on different keys rarely wait for each other
+    private static final int SEGMENTS = 16;
+
+    // Largest year the date level can hold: each date is packed into 32 bits as year * 10000 + month * 100 + day
+    // Dates after it skip the date level and are looked up by phase only
+    static final int MAX_DATE_KEY_YEAR = (Integer.MAX_VALUE - 1231) / 10000;
+
+    private final Segment[] dates = new Segment[SEGMENTS];
+    private final Segment[] phases = new Segment[SEGMENTS];
+    private final long ttlNanos;
+
+    private final LongAdder dateHits = new LongAdder();
+    private final LongAdder dateMisses = new LongAdder();
+    private final LongAdder phaseHits = new LongAdder();
+    private final LongAdder phaseMisses = new LongAdder();
+
+    // 'maxEntries' bounds each of the two levels (the phase level never holds more than FULL_CYCLE_DAYS entries anyway)
+    public BiorhythmCache(int maxEntries, long ttl, TimeUnit unit)
+    {
+        if (maxEntries < SEGMENTS)
+            throw new IllegalArgumentException("The cache needs room for at least " + SEGMENTS + " entries, was " + maxEntries);
+        if (ttl <= 0)
+            throw new IllegalArgumentException("The time to live must be positive, was " + ttl);
+
+        this.ttlNanos = unit.toNanos(ttl);
+
+        int perSegment = maxEntries / SEGMENTS;
+
+        for (int i = 0; i < SEGMENTS; i++)
+        {
+            dates[i] = new Segment(perSegment);
+            phases[i] = new Segment(perSegment);
+        }
+    }
+
+    // The biorhythm for a birthdate and target date, which must already have been validated
+    public BiorhythmResult get(int bDay, int bMonth, int bYear, int tDay, int tMonth, int tYear)
+    {
+        long now = System.nanoTime();
+
+        if (bYear > MAX_DATE_KEY_YEAR || tYear > MAX_DATE_KEY_YEAR)
+            return get(BiorhythmDates.epochDay(bDay, bMonth, bYear), BiorhythmDates.epochDay(tDay, tMonth, tYear), now);
+
+        // Both dates packed into one key, without converting them to epoch days
+        long dateKey = ((long) (bYear * 10000 + bMonth * 100 + bDay) << 32) | (tYear * 10000 + tMonth * 100 + tDay);
+        Segment dateSegment = dates[segment(dateKey)];
+
+        BiorhythmResult result = dateSegment.get(dateKey, now);
+        if (result != null)
+        {
+            dateHits.increment();
+            return result;
+        }
+
+        dateMisses.increment();
+
+        result = get(BiorhythmDates.epochDay(bDay, bMonth, bYear), BiorhythmDates.epochDay(tDay, tMonth, tYear), now);
+        dateSegment.put(dateKey, result, now + ttlNanos);
+        return result;
+    }
+
+    // The biorhythm for a birth and target epoch day
+    public BiorhythmResult get(int birthEpochDay, int targetEpochDay)
+    {
+        return get(birthEpochDay, targetEpochDay, System.nanoTime());
+    }
+
+    private BiorhythmResult get(int birthEpochDay, int targetEpochDay, long now)
+    {
+        long phaseKey = Math.floorMod(targetEpochDay - birthEpochDay, FULL_CYCLE_DAYS);
+        Segment phaseSegment = phases[segment(phaseKey)];
+
+        BiorhythmResult cached = phaseSegment.get(phaseKey, now);
+        if (cached != null)
+        {
+            phaseHits.increment();
+
+            if (cached.birthEpochDay == birthEpochDay && cached.targetEpochDay == targetEpochDay)
+                return cached;
+
+            return new BiorhythmResult(birthEpochDay, targetEpochDay, cached.physical, cached.emotional, cached.intellectual);
+        }
+
+        phaseMisses.increment();
+
+        BiorhythmResult result = BiorhythmCore.calculate(birthEpochDay, targetEpochDay);
+        phaseSegment.put(phaseKey, result, now + ttlNanos);
+        return result;
+    }
+
+    public long getDateHits()
+    {
+        return dateHits.sum();
+    }
+
+    public long getDateMisses()
+    {
+        return dateMisses.sum();
+    }
+
+    public long getPhaseHits()
+    {
+        return phaseHits.sum();
+    }
+
+    public long getPhaseMisses()
+    {
+        return phaseMisses.sum();
+    }
+
+    public int size()
+    {
+        int size = 0;
+        for (int i = 0; i < SEGMENTS; i++)
+            size += dates[i].size() + phases[i].size();
+        return size;
+    }
+
+    public void clear()
+    {
+        for (int i = 0; i < SEGMENTS; i++)
+        {
+            dates[i].clear();
+            phases[i].clear();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "dateHits=" + getDateHits() + " dateMisses=" + getDateMisses() + " phaseHits=" + getPhaseHits() + " phaseMisses=" + getPhaseMisses() + " size=" + size();
+    }
+
+    private static int segment(long key)
+    {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 60) & (SEGMENTS - 1);
+    }
+
+    // One lock-protected part of a level, kept in least recently used order
+    private static final class Segment
+    {
+        private final LinkedHashMap<Long, Entry> map;
+
+        Segment(int capacity)
+        {
+            map = new LinkedHashMap<Long, Entry>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest)
+                {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized BiorhythmResult get(long key, long now)
+        {
+            Entry entry = map.get(key);
+            if (entry == null)
+                return null;
+
+            if (now - entry.expiresAt > 0)
+            {
+                map.remove(key);
+                return null;
+            }
+
+            return entry.result;
+        }
+
+        synchronized void put(long key, BiorhythmResult result, long expiresAt)
+        {
+            map.put(key, new Entry(result, expiresAt));
+        }
+
+        synchronized int size()
+        {
+            return map.size();
+        }
+
+        synchronized void clear()
+        {
+            map.clear();
+        }
+    }
+
+    private static final class Entry
+    {
+        final BiorhythmResult result;
+        final long expiresAt;
+
+        Entry(BiorhythmResult result, long expiresAt)
+        {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
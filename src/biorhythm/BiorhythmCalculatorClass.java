@@ -0,0 +1,899 @@
+package biorhythm;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.Rectangle2D;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import javax.swing.*;
+
+import org.jfree.chart.*;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.XYDataset;
+
+public class BiorhythmCalculatorClass
+{
+    private final String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "June", "July", "Aug", "Sept", "Oct", "Nov", "Dec"};
+    private static final String[] monthAbbreviations = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd MM yyyy"); //Format day/month/year
+    private final LocalDate currentDate = LocalDate.now();
+    private final Font titleFont = new Font("Verdana", Font.BOLD, 22);
+    private final Font normalFont = new Font("Verdana", Font.PLAIN, 16);
+    private final Font smallFont = new Font("Verdana", Font.PLAIN, 14);
+
+    // Declared here as these components need to be initialized, updated and reset in different parts of the program
+    private ForecastTableModel model;
+    private JTable table;
+    private JTextField bDayTextField;
+    private JComboBox<String> bMonth;
+    private JTextField bYearTextField;
+    private JTextField bTimeTextField;
+    private JComboBox<String> timeZone;
+    private JTextField targetDayTextField;
+    private JComboBox<String> targetMonth;
+    private JTextField targetYearTextField;
+    private JPanel centerPanel;
+    private JTextField rangeTextField;
+    private JProgressBar progressBar;
+    private JFreeChart chart;
+    private AdaptiveCycleDataset dataset;
+
+    // The longest range the graph can show (100 years), and the range from which a progress bar is shown while calculating
+    static final int MAX_GRAPH_DAYS = 36525;
+    static final int PROGRESS_BAR_DAYS = 1000;
+
+    // The results table grows with the forecast up to this many rows, and scrolls after that
+    static final int VISIBLE_TABLE_ROWS = 5;
+
+    // number of days shown on the graph, starting at the target date
+    private int graphDays = AdaptiveCycleDataset.DEFAULT_DAYS;
+
+    // the target date of the last calculation, as an epoch day
+    private int targetEpochDay = (int) currentDate.toEpochDay();
+
+    // the window that overlays many people's biorhythms, if it was opened
+    private ProfileComparisonWindow comparisonWindow;
+
+    // the calculation currently running in the background, if any
+    private ForecastWorker worker;
+
+    // time at which the program was started, used to measure how long it takes until the first window is shown
+    private static long startNanos;
+
+    public static void main(String[] args)
+    {
+        startNanos = System.nanoTime();
+
+        // '--stream' runs the command-line streaming mode instead of opening the window
+        if (args.length > 0 && args[0].equals("--stream"))
+        {
+            BiorhythmStream.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // '--server' answers biorhythm queries over HTTP instead of opening the window
+        if (args.length > 0 && args[0].equals("--server"))
+        {
+            BiorhythmServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // Starts decoding the images in the background while the window is being built
+        AssetCache.preload();
+
+        try
+        {
+        	// Adjusts the program's components to be of the same design language as the operating system that the program runs on
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            JFrame.setDefaultLookAndFeelDecorated(true);
+        }
+        catch (Exception e)
+        {
+            JOptionPane.showMessageDialog(null, "UIManager failed to load the setLookAndFeel method!", "Error!", JOptionPane.ERROR_MESSAGE);
+        }
+        
+        new BiorhythmCalculatorClass();
+    }
+
+    BiorhythmCalculatorClass()
+    {
+        tutorialScreen();
+    }
+
+    // Creates the calculator without opening any window, so its calculations can be benchmarked on a machine without a display
+    // Only the panel that holds the graph is created, since calculate() redraws the graph
+    BiorhythmCalculatorClass(boolean headless)
+    {
+        centerPanel = new JPanel(new BorderLayout());
+        createGraph(0);
+    }
+
+    void tutorialScreen()
+    {
+        // Initializes the tutorial window
+        JFrame frame = new JFrame("Welcome!");
+
+        frame.setLayout(new BorderLayout());
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+        // Initializes the title
+        JLabel title = new JLabel("Welcome!", SwingConstants.CENTER);
+        title.setFont(new Font("Verdana", Font.BOLD, 30));
+
+        // Initializes the Panel which will contain the image and the text
+        JPanel centerPanel = new JPanel();
+
+        JLabel text = new JLabel(
+        		"<html>Biorhythms, as pseudoscience, were developed by Wilhelm Fliess in the late 19th century,<br/>" +
+                "and were popularized in the United States in the late 1970s.<br/><br/>" +
+                "The biorhythm theory suggests that humans have 3 biological cycles:<br/><br/>"
+                + "<font color='red'>Physical - coordination, strength, well-being</font><br/>"
+                + "<font color='green'>Emotional - creativity, sensitivity, mood</font><br/>"
+                + "<font color='blue'>Intellectual - alertness, memory, analytical functioning</font><br/><br/>"
+                + "All the cycles begin at birth, and have a sinusoidal pattern<br/>"
+                + "All the cycles have values ranging from 1 to -1<br/>"
+                + "The higher the value, the better you will do in that particular area<br/>"
+                + "The lower the cycle, the more difficult your life will be<br/><br/>"
+                + "Want to know your biorhythm?<br/>"
+                + "The knowledge is one 'continue' press away!<html>");
+
+        text.setFont(normalFont);
+
+        // Initializes the image
+        JLabel img = new JLabel();
+
+        AssetCache.showOn(img, AssetCache.TUTORIAL, 500, 350);
+
+        centerPanel.add(img);
+        centerPanel.add(text);
+
+        JButton continueBtn = new JButton("Continue");
+        continueBtn.setBackground(Color.GREEN);
+        continueBtn.setFont(titleFont);
+        
+        // Launches the program after the 'continue' button is pressed
+        continueBtn.addActionListener(e -> {
+            frame.dispose();
+            initializeJFrame();
+            resetComponents();
+        });
+
+        frame.add(title, BorderLayout.NORTH);
+        frame.add(centerPanel, BorderLayout.CENTER);
+        frame.add(continueBtn, BorderLayout.SOUTH);
+
+        AssetCache.applyCursor(frame);
+
+        // Records the time from starting the program until the first window was shown as the 'startup' stage of BiorhythmMetrics
+        frame.addWindowListener(new WindowAdapter()
+        {
+            @Override
+            public void windowOpened(WindowEvent e)
+            {
+                BiorhythmMetrics.record(BiorhythmMetrics.Stage.STARTUP, System.nanoTime() - startNanos);
+            }
+        });
+        
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setResizable(false);
+        frame.setVisible(true);
+    }
+
+    void initializeJFrame()
+    {
+        JFrame f = new JFrame("Biorhythm Calculator");
+        f.setBackground(Color.BLACK);
+        f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+        AssetCache.applyCursor(f);
+
+        
+        // splits the window in half vertically
+        JSplitPane mainPanel = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, initializeLeftSide(), initializeRightSide());
+        // makes the middle divider impossible to move around
+        mainPanel.setEnabled(false);
+        
+        // adds all the components of the window (buttons, labels, text fields)
+        f.add(mainPanel);
+
+        f.pack();
+        f.setLocationRelativeTo(null);
+        f.setResizable(false);
+        f.setVisible(true);
+    }
+
+    // Calculates the user's biorhythm given the difference between the two dates
+    Object[] calculate(String bFullDate, String tFullDate) {
+
+        // DIFFERENCE BETWEEN DATES //
+
+        // Converts birthdate and target date into readable format for java.time
+        LocalDate date1;
+        LocalDate date2;
+        BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.PARSE);
+        try
+        {
+            date1 = LocalDate.parse(bFullDate, dtf);
+            date2 = LocalDate.parse(tFullDate, dtf);
+        }
+        finally
+        {
+            span.close();
+        }
+
+        return calculate(date1.getDayOfMonth(), date1.getMonthValue(), date1.getYear(), date2.getDayOfMonth(), date2.getMonthValue(), date2.getYear());
+    }
+
+    // Calculates the user's biorhythm straight from the numbers entered, without formatting or parsing any strings
+    // The calculation itself is done by BiorhythmCore, which keeps no state, so the window only holds what it shows
+    Object[] calculate(int bDay, int bMonthNum, int bYear, int tDay, int tMonthNum, int tYear) {
+
+        BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.CALCULATE);
+        try
+        {
+            BiorhythmResult result = BiorhythmCore.calculate(bDay, bMonthNum, bYear, tDay, tMonthNum, tYear);
+
+            // UPDATES THE GRAPH //
+            createGraph(result.dayDifference);
+
+            return tableRow(result);
+        }
+        finally
+        {
+            span.close();
+        }
+    }
+
+    // Creates the row of the table for the target date
+    // Static and free of any window state, so it can be called without a window
+    static Object[] tableRow(BiorhythmResult result) {
+
+        Object[] results = new Object[4];
+
+        // sets the first cell of the table equal to the target date (adjust as dates change)
+        int targetDate = BiorhythmDates.toYearMonthDay(result.targetEpochDay);
+        results[0] = targetDate % 100 + " " + monthAbbreviations[targetDate / 100 % 100 - 1];
+
+        // The three biorhythms, already rounded to four decimal places by BiorhythmCore
+        // They come from the cycle tables, which hold sin(2 * PI * t / (23 + 5 * (l-1))) for every day of each cycle
+        results[1] = result.physical;
+        results[2] = result.emotional;
+        results[3] = result.intellectual;
+
+        return results;
+    }
+
+    // Calculates the biorhythm in the background, cancelling any calculation that is still running from an earlier press
+    // 'dayOffset' is 0 unless a time of birth was entered (see birthTimeOffset)
+    void calculateInBackground(int bDay, int bMonthNum, int bYear, int tDay, int tMonthNum, int tYear, int days, double dayOffset)
+    {
+        if (worker != null)
+            worker.cancel(true);
+
+        worker = new ForecastWorker(bDay, bMonthNum, bYear, tDay, tMonthNum, tYear, days, dayOffset, dataset.getPixelWidth(), dataset.getPixelHeight(), this::showResults);
+
+        // Only long ranges take long enough to need a progress bar
+        progressBar.setValue(0);
+        progressBar.setVisible(days >= PROGRESS_BAR_DAYS);
+
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName()))
+                progressBar.setValue((Integer) e.getNewValue());
+        });
+
+        worker.execute();
+    }
+
+    // Shows the results of a finished background calculation (called on the event thread)
+    void showResults(ForecastWorker.Result result)
+    {
+        // A calculation that finished just as the user pressed Calculate again is out of date
+        if (result.source != worker)
+            return;
+
+        worker = null;
+        progressBar.setVisible(false);
+
+        targetEpochDay = result.biorhythm.targetEpochDay;
+        graphDays = result.samples.days;
+        dataset.setSamples(result.samples);
+        showWholeForecast();
+
+        // The comparison window follows the target date and range
+        if (comparisonWindow != null && comparisonWindow.isShowing())
+            comparisonWindow.setForecast(targetEpochDay, graphDays);
+
+        // Updates the JTable, which calculates its rows only as they are shown
+        model.setForecast(result.biorhythm.birthEpochDay, result.biorhythm.targetEpochDay, graphDays, result.dayOffset);
+        resizeTable();
+    }
+
+
+    // Resets all the text fields and the JTable when the 'clear' button is pressed
+    void resetComponents()
+    {
+        // Set the birthday text fields equal to the first of January, 2000
+        bDayTextField.setText("1");
+        bMonth.setSelectedIndex(0);
+        bYearTextField.setText("1999");
+        bTimeTextField.setText("");
+
+        // Set the target text fields equal to the current date
+        targetDayTextField.setText(Integer.toString(currentDate.getDayOfMonth()));
+        targetMonth.setSelectedIndex(currentDate.getMonthValue()-1);
+        targetYearTextField.setText(Integer.toString(currentDate.getYear()));
+
+        // Stops any calculation that is still running, so it cannot overwrite the cleared results
+        if (worker != null)
+        {
+            worker.cancel(true);
+            worker = null;
+        }
+        progressBar.setVisible(false);
+
+        rangeTextField.setText(Integer.toString(AdaptiveCycleDataset.DEFAULT_DAYS));
+        graphDays = AdaptiveCycleDataset.DEFAULT_DAYS;
+
+        // Clears the JTable
+        model.clear();
+        resizeTable();
+
+        // RESETS THE GRAPH //
+        createGraph(0);
+    }
+
+    
+	// Initializes the right side of the JFrame
+    JComponent initializeRightSide()
+    {
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBackground(Color.BLACK);
+
+        centerPanel = new JPanel(new BorderLayout());
+
+        // "Results" Label //
+        {
+            JLabel resultsLabel = new JLabel("Results", SwingConstants.CENTER);
+            resultsLabel.setForeground(Color.WHITE);
+            resultsLabel.setFont(titleFont);
+            mainPanel.add(resultsLabel, BorderLayout.NORTH);
+        }
+
+        // TABLE //
+        {
+            JPanel tablePanel = new JPanel (new BorderLayout());
+
+            // Initialize the model of the Table (header + one row per day of the forecast)
+            model = new ForecastTableModel();
+
+            table = new JTable(model);
+
+            // Colors each cell depending on the value that it contains (see CycleCellRenderer)
+            CycleCellRenderer renderer = new CycleCellRenderer();
+            table.setDefaultRenderer(String.class, renderer);
+            table.setDefaultRenderer(Double.class, renderer);
+
+            table.setRowSelectionAllowed(false);
+            table.setShowGrid(false);
+            table.setFont(smallFont);
+            table.getTableHeader().setReorderingAllowed(false);
+            table.getTableHeader().setFont(smallFont);
+
+            // Long forecasts scroll inside the table instead of stretching the window
+            tablePanel.add(new JScrollPane(table), BorderLayout.CENTER);
+            resizeTable();
+
+            centerPanel.add(tablePanel, BorderLayout.NORTH);
+        }
+
+
+        // GRAPH //
+        createGraph(0);
+        // the graph is added to the centerPanel is the createGraph() function
+
+        mainPanel.add(centerPanel, BorderLayout.CENTER);
+
+
+        // BUTTONS //
+
+        {
+            JPanel buttonPanel = new JPanel();
+            buttonPanel.setBackground(Color.BLACK);
+
+            JButton saveBtn = new JButton("Save");
+            JButton clearBtn = new JButton("Clear");
+            JButton compareBtn = new JButton("Compare");
+
+            saveBtn.setFont(normalFont);
+            clearBtn.setFont(normalFont);
+            compareBtn.setFont(normalFont);
+
+            saveBtn.addActionListener(e -> {
+                try
+                {
+                    final File file = new File("Chart.png");
+
+                    // Only the saving is timed, not the time the message stays open
+                    BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.EXPORT);
+                    try
+                    {
+                        ChartUtilities.saveChartAsPNG(file, chart, 400, 300);
+                    }
+                    finally
+                    {
+                        span.close();
+                    }
+
+                    JOptionPane.showMessageDialog(null, "Chart Successfully Saved to " + file.getCanonicalPath());
+
+                }
+                catch (IOException e1)
+                {
+                    JOptionPane.showMessageDialog(null, "Could not save file!", "Error!", JOptionPane.ERROR_MESSAGE);
+                }
+            });
+
+            // Calls the 'reset()' function when pressed
+            clearBtn.addActionListener(e -> resetComponents());
+
+            // Opens the comparison window, starting with the birthdate entered here if it is valid
+            compareBtn.addActionListener(e -> openComparisonWindow());
+
+            // Shows how far a long calculation has come; hidden the rest of the time
+            progressBar = new JProgressBar(0, 100);
+            progressBar.setStringPainted(true);
+            progressBar.setVisible(false);
+
+            buttonPanel.add(saveBtn);
+            buttonPanel.add(clearBtn);
+            buttonPanel.add(compareBtn);
+            buttonPanel.add(progressBar);
+
+            mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        }
+
+        return mainPanel;
+    }
+
+    // Shows the comparison window, creating it the first time or after it was closed
+    void openComparisonWindow()
+    {
+        if (comparisonWindow != null && comparisonWindow.isShowing())
+        {
+            comparisonWindow.toFront();
+            return;
+        }
+
+        comparisonWindow = new ProfileComparisonWindow(targetEpochDay, graphDays);
+
+        try
+        {
+            int bDayInt = Integer.parseInt(bDayTextField.getText());
+            int bMonthInt = bMonth.getSelectedIndex() + 1;
+            int bYearInt = Integer.parseInt(bYearTextField.getText());
+
+            if (BiorhythmDates.isValidDate(bDayInt, bMonthInt, bYearInt) && bYearInt >= BiorhythmDates.MIN_BIRTH_YEAR
+                    && BiorhythmDates.epochDay(bDayInt, bMonthInt, bYearInt) <= targetEpochDay)
+                comparisonWindow.addProfile("You", bDayInt, bMonthInt, bYearInt);
+        }
+        catch (NumberFormatException exception)
+        {
+            // Nothing valid was entered, so the window starts empty
+        }
+    }
+
+    // Makes the table tall enough for its rows, up to VISIBLE_TABLE_ROWS
+    void resizeTable()
+    {
+        int rows = Math.min(model.getRowCount(), VISIBLE_TABLE_ROWS);
+
+        table.setPreferredScrollableViewportSize(new Dimension(table.getPreferredSize().width, rows * table.getRowHeight()));
+        table.revalidate();
+    }
+
+    // Builds the graph the first time it is called, and afterwards only moves the existing graph to the new day difference
+    // The chart and its panel are kept alive, so a redraw only resamples the dataset, which never holds more points than the graph is wide
+    void createGraph(int dayDifference)
+    {
+        BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.GRAPH);
+        try
+        {
+            if (chart != null)
+            {
+                dataset.setForecast(dayDifference, graphDays);
+                showWholeForecast();
+            }
+            else
+            {
+                buildGraph(dayDifference);
+            }
+        }
+        finally
+        {
+            span.close();
+        }
+    }
+
+    // Zooms the graph back out to the whole forecast after the user zoomed or panned it
+    private void showWholeForecast()
+    {
+        chart.getXYPlot().getDomainAxis().setAutoRange(true);
+    }
+
+    // The first call: creates the dataset, the chart and the panel that shows it
+    private void buildGraph(int dayDifference)
+    {
+        dataset = new AdaptiveCycleDataset();
+        dataset.setForecast(dayDifference, graphDays);
+
+        chart = createChart(dataset);
+
+        // Panning or zooming only resamples the days that are now on screen
+        ValueAxis domainAxis = chart.getXYPlot().getDomainAxis();
+        domainAxis.addChangeListener(e -> dataset.setWindow(domainAxis.getLowerBound(), domainAxis.getUpperBound()));
+
+        ChartPanel chartPanel = new ChartPanel(chart);
+
+        // The number of points follows the size of the plot area
+        chartPanel.addComponentListener(new ComponentAdapter()
+        {
+            @Override
+            public void componentResized(ComponentEvent e)
+            {
+                Rectangle2D area = chartPanel.getScreenDataArea();
+                if (area != null && area.getWidth() >= 1)
+                    dataset.setResolution((int) area.getWidth(), (int) area.getHeight());
+                else
+                    dataset.setResolution(chartPanel.getWidth(), chartPanel.getHeight());
+            }
+        });
+
+        centerPanel.add(chartPanel, BorderLayout.CENTER);
+        centerPanel.revalidate();
+        centerPanel.repaint();
+    }
+
+    // The chart shown in the window, also used as the template of BulkChartRenderer
+    static JFreeChart createChart(XYDataset dataset)
+    {
+        // Chart title, X axis, Y axis, dataset used, plot orientation, legend, tooltips, urls
+        return ChartFactory.createXYLineChart(null, "Date (From the Target Date)", null, dataset, PlotOrientation.VERTICAL, true, true, false);
+    }
+
+    JFreeChart getChart()
+    {
+        return chart;
+    }
+
+    // Initializes the left-side-panel of the JFrame
+    JComponent initializeLeftSide()
+    {
+        // COMPONENT INITIALIZATION //
+
+        JPanel leftSidePanel = new JPanel(new GridBagLayout());
+        leftSidePanel.setBackground(Color.BLACK);
+
+        // Image displayed at the top of the screen
+        JLabel imgFinal = new JLabel();
+
+        AssetCache.showOn(imgFinal, AssetCache.HEADER, 300, 150);
+
+        // Birthday Input Section
+        JLabel bDayLabel = new JLabel("Birthdate");
+        bDayLabel.setForeground(Color.WHITE);
+        bDayLabel.setFont(titleFont);
+        
+        {
+            bDayTextField = new JTextField(5);
+            bDayTextField.setFont(smallFont);
+
+            bMonth = new JComboBox<>(months);
+            bMonth.setFont(smallFont);
+
+            bYearTextField = new JTextField(5);
+            bYearTextField.setFont(smallFont);
+
+            // Optional time of birth; left empty, the biorhythm is calculated from whole days as before
+            bTimeTextField = new JTextField(5);
+            bTimeTextField.setFont(smallFont);
+
+            String[] zones = ZoneId.getAvailableZoneIds().toArray(new String[0]);
+            Arrays.sort(zones);
+            timeZone = new JComboBox<>(zones);
+            timeZone.setFont(smallFont);
+            timeZone.setSelectedItem(ZoneId.systemDefault().getId());
+        }
+
+        // Target Date Input Section
+        JLabel targetDayLabel = new JLabel("Target Date");
+        targetDayLabel.setForeground(Color.WHITE);
+        targetDayLabel.setFont(titleFont);
+        
+        {
+            targetDayTextField = new JTextField(5);
+            targetDayTextField.setFont(smallFont);
+
+            targetMonth = new JComboBox<>(months);
+            targetMonth.setFont(smallFont);
+
+            targetYearTextField = new JTextField(5);
+            targetYearTextField.setFont(smallFont);
+        }
+
+        // Forecast Range Input Section
+        JLabel rangeLabel = new JLabel("Forecast Range (Days)");
+        rangeLabel.setForeground(Color.WHITE);
+        rangeLabel.setFont(normalFont);
+
+        rangeTextField = new JTextField(5);
+        rangeTextField.setFont(smallFont);
+
+        // The 'Calculate' button
+        JButton calcButton = new JButton("Calculate");
+        calcButton.setFont(titleFont);
+
+        // BUTTON PRESS //
+        calcButton.addActionListener(e -> {
+            try
+            {
+                // ERROR CHECKING //
+
+                // Converts all the user's inputs into integers to verify that they are valid
+                int bDayInt = Integer.parseInt(bDayTextField.getText());
+                int targetDayInt = Integer.parseInt(targetDayTextField.getText());
+
+                // Converts the name of the month selected into the number of said month
+                int bDayMonthInt = bMonth.getSelectedIndex() + 1;
+                int targetMonthInt = targetMonth.getSelectedIndex() + 1;
+
+                int bYearInt = Integer.parseInt(bYearTextField.getText());
+                int targetYearInt = Integer.parseInt(targetYearTextField.getText());
+
+                int rangeInt = Integer.parseInt(rangeTextField.getText());
+
+                /*
+                 * DateValidator checks that both dates exist (with the Gregorian leap year rules),
+                 * that you are not older than the oldest person alive
+                 * and that your birthday is not after your target date
+                 */
+                byte reason = DateValidator.checkRow(bDayInt, bDayMonthInt, bYearInt, targetDayInt, targetMonthInt, targetYearInt);
+                if(reason != DateValidator.VALID)
+                {
+                    JOptionPane.showMessageDialog(null, "Invalid Input Entered! " + DateValidator.message(reason), "Error!", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                // the forecast has to cover at least one day, and at most MAX_GRAPH_DAYS
+                if(rangeInt < 1 || rangeInt > MAX_GRAPH_DAYS)
+                    throw new NumberFormatException();
+
+                double dayOffset = birthTimeOffset(bDayInt, bDayMonthInt, bYearInt, targetDayInt, targetMonthInt, targetYearInt);
+
+
+                // CALCULATIONS //
+
+                // If the user has entered valid inputs, their biorhythm is calculated in the background
+                // The JTable and the graph are updated by showResults() once it has finished
+                calculateInBackground(bDayInt, bDayMonthInt, bYearInt, targetDayInt, targetMonthInt, targetYearInt, rangeInt, dayOffset);
+
+            }
+            catch (NumberFormatException exception)
+            {
+                JOptionPane.showMessageDialog(null, "Invalid Input Entered!", "Error!", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+
+        // COMPONENT PLACEMENT//
+
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        // Image
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 3;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        leftSidePanel.add(imgFinal, gbc);
+
+        // Birthday Label
+        gbc.gridy = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.insets = new Insets(15,0,0,0);  //top padding
+        leftSidePanel.add(bDayLabel, gbc);
+
+        // Date Label
+        gbc.gridy = 2;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0.5;
+        gbc.insets = new Insets(5,0,0,0);  //top padding
+        {
+            JLabel day = new JLabel("Day");
+            day.setFont(smallFont);
+            day.setForeground(Color.WHITE);
+            leftSidePanel.add(day, gbc);
+        }
+
+
+        // Month Label
+        gbc.gridx = 1;
+        {
+            JLabel month = new JLabel("Month");
+            month.setFont(smallFont);
+            month.setForeground(Color.WHITE);
+            leftSidePanel.add(month, gbc);
+        }
+
+        // Year Label
+        gbc.gridx = 2;
+        {
+            JLabel year = new JLabel("Year");
+            year.setFont(smallFont);
+            year.setForeground(Color.WHITE);
+            leftSidePanel.add(year, gbc);
+        }
+
+        // BDay Text Field
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.insets = new Insets(0,0,0,0);  //top padding
+        leftSidePanel.add(bDayTextField, gbc);
+
+        // BDay Month Dropdown
+        gbc.gridx = 1;
+        leftSidePanel.add(bMonth, gbc);
+
+        // BDay Year Text Field
+        gbc.gridx = 2;
+        leftSidePanel.add(bYearTextField, gbc);
+
+        // Birth Time Label
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.insets = new Insets(5,0,0,0);  //top padding
+        {
+            JLabel time = new JLabel("Time (HH:MM)");
+            time.setFont(smallFont);
+            time.setForeground(Color.WHITE);
+            leftSidePanel.add(time, gbc);
+        }
+
+        // Time Zone Label
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        {
+            JLabel zone = new JLabel("Time Zone");
+            zone.setFont(smallFont);
+            zone.setForeground(Color.WHITE);
+            leftSidePanel.add(zone, gbc);
+        }
+
+        // Birth Time Text Field
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(0,0,0,0);  //top padding
+        leftSidePanel.add(bTimeTextField, gbc);
+
+        // Time Zone Dropdown
+        gbc.gridx = 1;
+        gbc.gridwidth = 2;
+        leftSidePanel.add(timeZone, gbc);
+
+        // Target Date Label
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        gbc.gridwidth = 3;
+        gbc.insets = new Insets(15,0,0,0);  //top padding
+        leftSidePanel.add(targetDayLabel, gbc);
+
+        // Date Label
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0.5;
+        gbc.insets = new Insets(5,0,0,0);  //top padding
+        {
+            JLabel day = new JLabel("Day");
+            day.setFont(smallFont);
+            day.setForeground(Color.WHITE);
+            leftSidePanel.add(day, gbc);
+        }
+
+        // Month Label
+        gbc.gridx = 1;
+        {
+            JLabel month = new JLabel("Month");
+            month.setFont(smallFont);
+            month.setForeground(Color.WHITE);
+            leftSidePanel.add(month, gbc);
+        }
+
+        // Year Label
+        gbc.gridx = 2;
+        {
+            JLabel year = new JLabel("Year");
+            year.setFont(smallFont);
+            year.setForeground(Color.WHITE);
+            leftSidePanel.add(year, gbc);
+        }
+
+        // Target Day Text Field
+        gbc.gridx = 0;
+        gbc.gridy = 8;
+        leftSidePanel.add(targetDayTextField, gbc);
+
+        // Month Label
+        gbc.gridx = 1;
+        leftSidePanel.add(targetMonth, gbc);
+
+        // Year Label
+        gbc.gridx = 2;
+        leftSidePanel.add(targetYearTextField, gbc);
+
+        // Forecast Range Label
+        gbc.gridx = 0;
+        gbc.gridy = 9;
+        gbc.gridwidth = 3;
+        gbc.insets = new Insets(15,0,0,0);  //top padding
+        leftSidePanel.add(rangeLabel, gbc);
+
+        // Forecast Range Text Field
+        gbc.gridx = 1;
+        gbc.gridy = 10;
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(5,0,0,0);  //top padding
+        leftSidePanel.add(rangeTextField, gbc);
+
+        // Calculate Button
+        gbc.gridx = 1;
+        gbc.gridy = 11;
+        gbc.gridwidth = 1;
+        gbc.ipady = 15;
+        gbc.fill = GridBagConstraints.BOTH;
+        gbc.insets = new Insets(50,0,0,0);  //top padding
+        leftSidePanel.add(calcButton, gbc);
+
+        return leftSidePanel;
+    }
+    
+    // How many days, with their fraction, the exact age at the start of the target date (in the chosen time zone) differs
+    // from the age in whole days, when a time of birth was entered; 0 if the time field is empty
+    // Throws NumberFormatException for a time that is not HH:MM, like the other fields
+    double birthTimeOffset(int bDay, int bMonthNum, int bYear, int tDay, int tMonthNum, int tYear)
+    {
+        String text = bTimeTextField.getText().trim();
+        if (text.isEmpty())
+            return 0;
+
+        String[] parts = text.split(":");
+        if (parts.length != 2)
+            throw new NumberFormatException();
+
+        int hour = Integer.parseInt(parts[0]);
+        int minute = Integer.parseInt(parts[1]);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59)
+            throw new NumberFormatException();
+
+        ZoneId zone = ZoneId.of((String) timeZone.getSelectedItem());
+        int birthEpochDay = BiorhythmDates.epochDay(bDay, bMonthNum, bYear);
+        int targetEpochDay = BiorhythmDates.epochDay(tDay, tMonthNum, tYear);
+
+        long birth = PreciseBiorhythm.epochSecond(bDay, bMonthNum, bYear, hour, minute, zone);
+        return PreciseBiorhythm.days(birth, PreciseBiorhythm.startOfDay(targetEpochDay, zone)) - (targetEpochDay - birthEpochDay);
+    }
+
+    // Returns true if the numbers do not make a real date (see DateValidator, which also knows that 1900 and 2100 are not leap years)
+    boolean checkIfInputValid(int days, int monthNum, int year)
+    {
+        return DateValidator.checkDate(days, monthNum, year) != DateValidator.VALID;
+    }
+}
\ No newline at end of file
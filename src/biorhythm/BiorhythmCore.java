@@ -0,0 +1,40 @@
+package biorhythm;
+
+// The calculation behind the calculator window, with no state of its own
+// Every method depends only on its arguments and on the read-only cycle tables, so any number of threads (or windows)
+// can call it at the same time without locking, and a call never sees another call's dates
+public final class BiorhythmCore
+{
+    private BiorhythmCore()
+    {
+    }
+
+    // The biorhythm for a birthdate and target date given as day, month and year
+    // Throws IllegalArgumentException for dates the calculator window would reject: a day that is not in the month,
+    // a birth year before MIN_BIRTH_YEAR or a birthdate after the target date
+    public static BiorhythmResult calculate(int bDay, int bMonth, int bYear, int tDay, int tMonth, int tYear)
+    {
+        byte reason = DateValidator.checkRow(bDay, bMonth, bYear, tDay, tMonth, tYear);
+        if (reason != DateValidator.VALID)
+            throw new IllegalArgumentException(DateValidator.message(reason));
+
+        return calculate(BiorhythmDates.epochDay(bDay, bMonth, bYear), BiorhythmDates.epochDay(tDay, tMonth, tYear));
+    }
+
+    // The biorhythm for two dates given as epoch days (LocalDate.toEpochDay())
+    public static BiorhythmResult calculate(int birthEpochDay, int targetEpochDay)
+    {
+        int dayDifference = targetEpochDay - birthEpochDay;
+
+        return new BiorhythmResult(birthEpochDay, targetEpochDay,
+                round(BiorhythmEngine.physical(dayDifference)),
+                round(BiorhythmEngine.emotional(dayDifference)),
+                round(BiorhythmEngine.intellectual(dayDifference)));
+    }
+
+    // Rounds to four decimal places, like the results table
+    static double round(double value)
+    {
+        return (double) Math.round(value * 10000) / 10000;
+    }
+}
@@ -0,0 +1,82 @@
+package biorhythm;
+
+// Date arithmetic on plain (day, month, year) numbers, without creating any objects
+// Gives the same day differences as parsing "dd MM yyyy" strings with java.time and calling Duration.between(...).toDays()
+public final class BiorhythmDates
+{
+    // Birth years before this are rejected, as nobody alive is older than that
+    public static final int MIN_BIRTH_YEAR = 1903;
+
+    private static final int[] DAYS_PER_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private BiorhythmDates()
+    {
+    }
+
+    // Gregorian leap year rule: every fourth year, except centuries that are not divisible by 400
+    public static boolean isLeapYear(int year)
+    {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int month, int year)
+    {
+        return month == 2 && isLeapYear(year) ? 29 : DAYS_PER_MONTH[month - 1];
+    }
+
+    // Checks that the numbers make a real date
+    public static boolean isValidDate(int day, int month, int year)
+    {
+        return 1 <= month && month <= 12 && 1 <= day && day <= lengthOfMonth(month, year);
+    }
+
+    // Checks the same conditions as the calculator window:
+    // the birth year is not before MIN_BIRTH_YEAR and the birthdate is not after the target date
+    public static boolean isSupportedRange(int bDay, int bMonth, int bYear, int tDay, int tMonth, int tYear)
+    {
+        return bYear >= MIN_BIRTH_YEAR &&
+                (bYear < tYear ||
+                (bYear == tYear && (bMonth < tMonth || (bMonth == tMonth && bDay <= tDay))));
+    }
+
+    // Number of days since 1970-01-01, the same value as LocalDate.toEpochDay()
+    // Like LocalDate.parse, a day past the end of the month (29 to 31) is moved back to the last day of that month
+    public static int epochDay(int day, int month, int year)
+    {
+        day = Math.min(day, lengthOfMonth(month, year));
+
+        // Counts years from March, so the leap day is the last day of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        // 719468 is the number of days from 0000-03-01 to 1970-01-01
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    // The date of an epoch day, packed into one number as year * 10000 + month * 100 + day (for example 20240615)
+    // This is the reverse of epochDay(), and also creates no objects
+    public static int toYearMonthDay(int epochDay)
+    {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        return year * 10000 + month * 100 + day;
+    }
+
+    // Number of days from the birthdate to the target date
+    public static int dayDifference(int bDay, int bMonth, int bYear, int tDay, int tMonth, int tYear)
+    {
+        return epochDay(tDay, tMonth, tYear) - epochDay(bDay, bMonth, bYear);
+    }
+}
@@ -0,0 +1,116 @@
+package biorhythm;
+
+// Headless batch engine for scoring large numbers of birthdate/target date pairs
+// It has no dependency on Swing or JFreeChart, so it can run on servers without a display
+public final class BiorhythmEngine
+{
+    // Length of each cycle in days: physical, emotional and intellectual
+    public static final int PHYSICAL_PERIOD = 23;
+    public static final int EMOTIONAL_PERIOD = 28;
+    public static final int INTELLECTUAL_PERIOD = 33;
+
+    // Evaluates all three cycles over fractional day offsets; see evaluateOffsets()
+    interface OffsetEvaluator
+    {
+        void evaluate(double[] days, double[] physical, double[] emotional, double[] intellectual, int from, int to);
+    }
+
+    // The SIMD evaluator when the jdk.incubator.vector module is present (java --add-modules jdk.incubator.vector), otherwise a plain loop
+    private static final OffsetEvaluator OFFSET_EVALUATOR = loadOffsetEvaluator();
+
+    private BiorhythmEngine()
+    {
+    }
+
+    // Scores every pair of the two arrays, where both dates are given as epoch days (LocalDate.toEpochDay())
+    // The results are written into the caller's arrays, so nothing is allocated per call
+    public static void evaluate(int[] birthEpochDays, int[] targetEpochDays, double[] physical, double[] emotional, double[] intellectual)
+    {
+        evaluate(birthEpochDays, targetEpochDays, physical, emotional, intellectual, 0, birthEpochDays.length);
+    }
+
+    // Scores the pairs between 'from' (inclusive) and 'to' (exclusive), writing each result at the same index it was read from
+    public static void evaluate(int[] birthEpochDays, int[] targetEpochDays, double[] physical, double[] emotional, double[] intellectual, int from, int to)
+    {
+        checkRange(birthEpochDays.length, targetEpochDays.length, physical.length, emotional.length, intellectual.length, from, to);
+
+        for (int i = from; i < to; i++)
+        {
+            int dayDifference = targetEpochDays[i] - birthEpochDays[i];
+
+            physical[i] = physical(dayDifference);
+            emotional[i] = emotional(dayDifference);
+            intellectual[i] = intellectual(dayDifference);
+        }
+    }
+
+    // Evaluates sin(2 * PI * t / period) of all three cycles for every day offset t between 'from' (inclusive) and 'to' (exclusive)
+    // Unlike the whole-day methods the offsets may be fractional, as on the graph, and the results are as precise as Math.sin
+    // 'days' may be the same array as 'intellectual': each offset is read before that value is written
+    public static void evaluateOffsets(double[] days, double[] physical, double[] emotional, double[] intellectual, int from, int to)
+    {
+        checkRange(days.length, days.length, physical.length, emotional.length, intellectual.length, from, to);
+
+        OFFSET_EVALUATOR.evaluate(days, physical, emotional, intellectual, from, to);
+    }
+
+    // True when evaluateOffsets() runs on SIMD lanes
+    public static boolean isVectorized()
+    {
+        return !(OFFSET_EVALUATOR instanceof ScalarOffsetEvaluator);
+    }
+
+    // Scores a single day difference, using the same formula as the calculator window (read from CycleTable instead of Math.sin)
+    public static double physical(int dayDifference)
+    {
+        return CycleTable.wholeDay(CycleTable.PHYSICAL, dayDifference);
+    }
+
+    public static double emotional(int dayDifference)
+    {
+        return CycleTable.wholeDay(CycleTable.EMOTIONAL, dayDifference);
+    }
+
+    public static double intellectual(int dayDifference)
+    {
+        return CycleTable.wholeDay(CycleTable.INTELLECTUAL, dayDifference);
+    }
+
+    // Makes sure every array can hold the requested range before any result is written
+    static void checkRange(int births, int targets, int physical, int emotional, int intellectual, int from, int to)
+    {
+        if (from < 0 || from > to)
+            throw new IndexOutOfBoundsException("Invalid range: " + from + " to " + to);
+
+        if (to > births || to > targets || to > physical || to > emotional || to > intellectual)
+            throw new IndexOutOfBoundsException("Range end " + to + " is larger than one of the arrays");
+    }
+
+    private static OffsetEvaluator loadOffsetEvaluator()
+    {
+        // Loaded by name, so this class still compiles and runs on a JDK started without the incubator module
+        try
+        {
+            return (OffsetEvaluator) Class.forName("biorhythm.VectorCycleEvaluator").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError e)
+        {
+            return new ScalarOffsetEvaluator();
+        }
+    }
+
+    // The fallback: one Math.sin call per value
+    static final class ScalarOffsetEvaluator implements OffsetEvaluator
+    {
+        @Override
+        public void evaluate(double[] days, double[] physical, double[] emotional, double[] intellectual, int from, int to)
+        {
+            for (int i = from; i < to; i++)
+            {
+                physical[i] = Math.sin(days[i] * (2 * Math.PI / PHYSICAL_PERIOD));
+                emotional[i] = Math.sin(days[i] * (2 * Math.PI / EMOTIONAL_PERIOD));
+                intellectual[i] = Math.sin(days[i] * (2 * Math.PI / INTELLECTUAL_PERIOD));
+            }
+        }
+    }
+}
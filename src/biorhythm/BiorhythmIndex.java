@@ -0,0 +1,237 @@
+package biorhythm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Precomputed biorhythm values for every day difference the calculator accepts, stored in a compact binary file
+// The file is memory-mapped for reading, so lookups copy nothing and several processes can share the same pages
+//
+// Usage: java biorhythm.BiorhythmIndex generate <file> [last target year]   (2100 by default)
+//        java biorhythm.BiorhythmIndex verify <file>
+//
+// File layout (little-endian):
+//   header: magic "BIOI", version, number of days, fixed-point scale, then padding up to HEADER_BYTES
+//   one record per day difference from 0: physical, emotional, intellectual as 16-bit fixed point (value * scale)
+public final class BiorhythmIndex implements Closeable
+{
+    static final int MAGIC = 0x494F4942; // "BIOI" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 6;
+
+    // Values are stored as value * SCALE, rounded, so the stored values are off by at most 0.5 / SCALE
+    static final int SCALE = Short.MAX_VALUE;
+    public static final double MAX_ERROR = 0.5 / SCALE;
+
+    public static final int DEFAULT_LAST_YEAR = 2100;
+
+    // A file is mapped in one piece and records are addressed with int offsets, so the whole file must stay within 2 GB
+    static final int MAX_DAYS = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+
+    // The last year whose index still fits in MAX_DAYS (about 980,000)
+    public static final int MAX_LAST_YEAR = maxLastYear();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int days;
+
+    private BiorhythmIndex(FileChannel channel, MappedByteBuffer buffer, int days)
+    {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.days = days;
+    }
+
+    public static void main(String[] args)
+    {
+        try
+        {
+            if (args.length >= 2 && args.length <= 3 && args[0].equals("generate"))
+            {
+                int lastYear = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_LAST_YEAR;
+                int days = generate(Paths.get(args[1]), lastYear);
+                System.out.println("Wrote " + days + " days to " + args[1]);
+            }
+            else if (args.length == 2 && args[0].equals("verify"))
+            {
+                try (BiorhythmIndex index = open(Paths.get(args[1])))
+                {
+                    double error = index.verify();
+                    System.out.printf("%d days, largest difference from the formula: %.2e (allowed %.2e)%n", index.size(), error, MAX_ERROR);
+
+                    if (error > MAX_ERROR)
+                        System.exit(1);
+                }
+            }
+            else
+            {
+                System.err.println("Usage: generate <file> [last target year] | verify <file>");
+                System.exit(2);
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            System.err.println("Index failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Writes every day difference from 0 up to the distance between the earliest allowed birthdate and the last day of 'lastYear'
+    // Returns the number of days written
+    public static int generate(Path file, int lastYear) throws IOException
+    {
+        if (lastYear < BiorhythmDates.MIN_BIRTH_YEAR)
+            throw new IllegalArgumentException("The last year cannot be before " + BiorhythmDates.MIN_BIRTH_YEAR);
+        if (lastYear > MAX_LAST_YEAR)
+            throw new IllegalArgumentException("The last year cannot be after " + MAX_LAST_YEAR + ", since the index would not fit in the 2 GB that can be mapped at once");
+
+        int days = daysUntil(lastYear);
+
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(days).putInt(SCALE);
+            header.clear();
+            write(out, header);
+
+            ByteBuffer records = ByteBuffer.allocateDirect(RECORD_BYTES * 8192).order(ByteOrder.LITTLE_ENDIAN);
+
+            for (int day = 0; day < days; day++)
+            {
+                if (records.remaining() < RECORD_BYTES)
+                {
+                    records.flip();
+                    write(out, records);
+                    records.clear();
+                }
+
+                records.putShort(toFixedPoint(BiorhythmEngine.physical(day)));
+                records.putShort(toFixedPoint(BiorhythmEngine.emotional(day)));
+                records.putShort(toFixedPoint(BiorhythmEngine.intellectual(day)));
+            }
+
+            records.flip();
+            write(out, records);
+        }
+
+        return days;
+    }
+
+    // Maps an index file for reading; the returned index can be shared by any number of threads
+    public static BiorhythmIndex open(Path file) throws IOException
+    {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try
+        {
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException("Not a biorhythm index: the file is too short");
+            if (channel.size() > HEADER_BYTES + (long) MAX_DAYS * RECORD_BYTES)
+                throw new IOException("The index is too large to map: " + channel.size() + " bytes");
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC)
+                throw new IOException("Not a biorhythm index: wrong magic number");
+            if (buffer.getInt(4) != VERSION)
+                throw new IOException("Unsupported biorhythm index version " + buffer.getInt(4));
+            if (buffer.getInt(12) != SCALE)
+                throw new IOException("Unsupported fixed-point scale " + buffer.getInt(12));
+
+            int days = buffer.getInt(8);
+            if (days < 0 || channel.size() != HEADER_BYTES + (long) days * RECORD_BYTES)
+                throw new IOException("The index file is truncated or has the wrong size");
+
+            return new BiorhythmIndex(channel, buffer, days);
+        }
+        catch (IOException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Number of day differences in the index, starting at 0
+    public int size()
+    {
+        return days;
+    }
+
+    public double physical(int dayDifference)
+    {
+        return read(dayDifference, CycleTable.PHYSICAL);
+    }
+
+    public double emotional(int dayDifference)
+    {
+        return read(dayDifference, CycleTable.EMOTIONAL);
+    }
+
+    public double intellectual(int dayDifference)
+    {
+        return read(dayDifference, CycleTable.INTELLECTUAL);
+    }
+
+    // Compares every stored value against the formula sin(2 * PI * t / period) and returns the largest difference
+    public double verify()
+    {
+        double worst = 0;
+
+        for (int day = 0; day < days; day++)
+        {
+            worst = Math.max(worst, Math.abs(physical(day) - Math.sin((2 * Math.PI * day) / BiorhythmEngine.PHYSICAL_PERIOD)));
+            worst = Math.max(worst, Math.abs(emotional(day) - Math.sin((2 * Math.PI * day) / BiorhythmEngine.EMOTIONAL_PERIOD)));
+            worst = Math.max(worst, Math.abs(intellectual(day) - Math.sin((2 * Math.PI * day) / BiorhythmEngine.INTELLECTUAL_PERIOD)));
+        }
+
+        return worst;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    // Absolute reads never move the buffer's position, so they are safe from any number of threads
+    private double read(int dayDifference, int cycle)
+    {
+        if (dayDifference < 0 || dayDifference >= days)
+            throw new IndexOutOfBoundsException("Day difference " + dayDifference + " is outside the index (0 to " + (days - 1) + ")");
+
+        return buffer.getShort(HEADER_BYTES + dayDifference * RECORD_BYTES + cycle * 2) / (double) SCALE;
+    }
+
+    // Number of records in an index whose last target year is 'lastYear'
+    private static int daysUntil(int lastYear)
+    {
+        return BiorhythmDates.dayDifference(1, 1, BiorhythmDates.MIN_BIRTH_YEAR, 31, 12, lastYear) + 1;
+    }
+
+    private static int maxLastYear()
+    {
+        int year = BiorhythmDates.MIN_BIRTH_YEAR + (int) (MAX_DAYS / 365.2425);
+        while (daysUntil(year) > MAX_DAYS)
+            year--;
+        return year;
+    }
+
+    private static short toFixedPoint(double value)
+    {
+        return (short) Math.round(value * SCALE);
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+            out.write(buffer);
+    }
+}
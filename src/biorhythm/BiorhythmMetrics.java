@@ -0,0 +1,342 @@
+package biorhythm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Counts, latency histograms and allocation totals for each stage of the calculator (parsing, calculating, redrawing the graph, ...)
+// The numbers can be read in three ways:
+// - over JMX (jconsole, VisualVM, ...), as one MBean per stage under "BiorhythmCalculator:type=Stage"
+// - as text, from dump() or the server's /biorhythm/metrics endpoint
+// - as "biorhythm.Stage" events in a Java Flight Recorder recording (java -XX:StartFlightRecording ...)
+//
+// Usage: BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.GRAPH);
+//        try { ... } finally { span.close(); }
+//
+// Metrics are on by default and can be turned off with -Dbiorhythm.metrics=false, in which case start() returns a shared
+// span that does nothing; -Dbiorhythm.metrics.dumpOnExit=true prints the text dump when the program exits
+public final class BiorhythmMetrics
+{
+    public enum Stage
+    {
+        // Turning the entered text into dates and numbers
+        PARSE("parse"),
+        // Calculating the biorhythm of one date
+        CALCULATE("calculate"),
+        // Refilling or rebuilding the graph in createGraph()
+        GRAPH("graph"),
+        // Calculating a whole forecast in the background
+        FORECAST("forecast"),
+        // Writing the chart to a PNG file
+        EXPORT("export"),
+        // Answering one HTTP request
+        REQUEST("request"),
+        // From the start of main() until the first window is shown; recorded once per run
+        STARTUP("startup");
+
+        final String label;
+
+        Stage(String label)
+        {
+            this.label = label;
+        }
+    }
+
+    // What each stage exposes over JMX
+    public interface StageMXBean
+    {
+        long getCount();
+        double getMeanMicros();
+        double getMaxMicros();
+        double getP50Micros();
+        double getP99Micros();
+        long getAllocatedBytesPerCall();
+        void reset();
+    }
+
+    // A stage being timed; close() records it
+    public static final class Span implements AutoCloseable
+    {
+        private final StageStats stats;
+        private final long startNanos;
+        private final long startAllocated;
+        private final StageEvent event;
+
+        private Span(StageStats stats, long startNanos, long startAllocated, StageEvent event)
+        {
+            this.stats = stats;
+            this.startNanos = startNanos;
+            this.startAllocated = startAllocated;
+            this.event = event;
+        }
+
+        @Override
+        public void close()
+        {
+            if (stats == null)
+                return;
+
+            long nanos = System.nanoTime() - startNanos;
+            long allocated = startAllocated < 0 ? 0 : allocatedBytes() - startAllocated;
+
+            stats.record(nanos, allocated);
+
+            if (event == null)
+                return;
+
+            event.end();
+            if (event.shouldCommit())
+            {
+                event.stage = stats.stage.label;
+                event.allocated = allocated;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("biorhythm.Stage")
+    @Label("Biorhythm Stage")
+    @Category("Biorhythm Calculator")
+    static final class StageEvent extends Event
+    {
+        @Label("Stage")
+        String stage;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+
+    // Read once, so the JIT removes every metrics call from the hot paths when they are turned off
+    private static final boolean ENABLED = !"false".equals(System.getProperty("biorhythm.metrics"));
+
+    private static final Span DISABLED = new Span(null, 0, 0, null);
+
+    // Never committed; only asked whether a recording wants stage events, so no event is allocated while none does
+    private static final StageEvent EVENT_PROBE = new StageEvent();
+
+    private static final StageStats[] STATS = new StageStats[Stage.values().length];
+
+    // Per-thread allocation counter of HotSpot-based JDKs, or null when the JDK does not have one
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS;
+
+    static
+    {
+        for (Stage stage : Stage.values())
+            STATS[stage.ordinal()] = new StageStats(stage);
+
+        ThreadMXBean threads = ENABLED ? ManagementFactory.getThreadMXBean() : null;
+        ALLOCATIONS = threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threads : null;
+
+        if (ENABLED)
+        {
+            // Registering with the platform MBean server loads a good deal of JMX, which would otherwise slow down the first click
+            Thread registration = new Thread(BiorhythmMetrics::register, "metrics-jmx");
+            registration.setDaemon(true);
+            registration.start();
+
+            if (Boolean.getBoolean("biorhythm.metrics.dumpOnExit"))
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(dump()), "metrics-dump"));
+        }
+    }
+
+    private BiorhythmMetrics()
+    {
+    }
+
+    public static boolean isEnabled()
+    {
+        return ENABLED;
+    }
+
+    // Starts timing a stage; close the span in a finally block (see the usage above) so it is recorded even if the stage fails
+    public static Span start(Stage stage)
+    {
+        if (!ENABLED)
+            return DISABLED;
+
+        StageEvent event = null;
+        if (EVENT_PROBE.isEnabled())
+        {
+            event = new StageEvent();
+            event.begin();
+        }
+
+        return new Span(STATS[stage.ordinal()], System.nanoTime(), ALLOCATIONS == null ? -1 : allocatedBytes(), event);
+    }
+
+    // Records a stage that was timed elsewhere, for example one that starts and ends on different threads
+    public static void record(Stage stage, long nanos)
+    {
+        if (ENABLED)
+            STATS[stage.ordinal()].record(nanos, 0);
+    }
+
+    public static StageMXBean get(Stage stage)
+    {
+        return STATS[stage.ordinal()];
+    }
+
+    // Every stage as one line of text, for logs and the server's metrics endpoint
+    public static String dump()
+    {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-10s %10s %12s %12s %12s %12s %12s%n", "stage", "count", "mean us", "p50 us", "p99 us", "max us", "B/call"));
+
+        for (StageStats stats : STATS)
+        {
+            text.append(String.format("%-10s %10d %12.1f %12.1f %12.1f %12.1f %12d%n", stats.stage.label, stats.getCount(), stats.getMeanMicros(),
+                    stats.getP50Micros(), stats.getP99Micros(), stats.getMaxMicros(), stats.getAllocatedBytesPerCall()));
+        }
+
+        if (!ENABLED)
+            text.append("(metrics are turned off: -Dbiorhythm.metrics=false)").append(System.lineSeparator());
+
+        return text.toString();
+    }
+
+    private static long allocatedBytes()
+    {
+        return ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static void register()
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            for (StageStats stats : STATS)
+            {
+                ObjectName name = new ObjectName("BiorhythmCalculator:type=Stage,name=" + stats.stage.label);
+                if (!server.isRegistered(name))
+                    server.registerMBean(stats, name);
+            }
+        }
+        catch (JMException | SecurityException e)
+        {
+            System.out.println("The metrics could not be registered with JMX! (BiorhythmMetrics)");
+        }
+    }
+
+    // The numbers of one stage; every field can be updated from many threads without locking
+    private static final class StageStats implements StageMXBean
+    {
+        // Bucket b counts calls that took from 2^b to 2^(b + 1) - 1 nanoseconds
+        private static final int BUCKETS = 64;
+
+        final Stage stage;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalAllocated = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        StageStats(Stage stage)
+        {
+            this.stage = stage;
+
+            for (int b = 0; b < BUCKETS; b++)
+                histogram[b] = new LongAdder();
+        }
+
+        void record(long nanos, long allocated)
+        {
+            count.increment();
+            totalNanos.add(nanos);
+            totalAllocated.add(allocated);
+            maxNanos.accumulate(nanos);
+            histogram[63 - Long.numberOfLeadingZeros(Math.max(nanos, 1))].increment();
+        }
+
+        @Override
+        public long getCount()
+        {
+            return count.sum();
+        }
+
+        @Override
+        public double getMeanMicros()
+        {
+            long calls = count.sum();
+            return calls == 0 ? 0 : totalNanos.sum() / 1e3 / calls;
+        }
+
+        @Override
+        public double getMaxMicros()
+        {
+            return maxNanos.get() / 1e3;
+        }
+
+        @Override
+        public double getP50Micros()
+        {
+            return percentile(0.50);
+        }
+
+        @Override
+        public double getP99Micros()
+        {
+            return percentile(0.99);
+        }
+
+        @Override
+        public long getAllocatedBytesPerCall()
+        {
+            long calls = count.sum();
+            return calls == 0 ? 0 : totalAllocated.sum() / calls;
+        }
+
+        @Override
+        public void reset()
+        {
+            count.reset();
+            totalNanos.reset();
+            totalAllocated.reset();
+            maxNanos.reset();
+
+            for (LongAdder bucket : histogram)
+                bucket.reset();
+        }
+
+        // The upper end of the histogram bucket that holds the percentile, so the estimate is at most twice the real value
+        private double percentile(double fraction)
+        {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+
+            for (int b = 0; b < BUCKETS; b++)
+            {
+                counts[b] = histogram[b].sum();
+                total += counts[b];
+            }
+
+            if (total == 0)
+                return 0;
+
+            long rank = (long) Math.ceil(total * fraction);
+            long seen = 0;
+
+            for (int b = 0; b < BUCKETS; b++)
+            {
+                seen += counts[b];
+                if (seen >= rank)
+                    return Math.min(Math.pow(2, b + 1), maxNanos.get()) / 1e3;
+            }
+
+            return getMaxMicros();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package biorhythm;
+
+// The biorhythm of one person on one day, as shown in the results table
+// Immutable, so a result can be handed between threads and windows freely
+public final class BiorhythmResult
+{
+    public final int birthEpochDay;
+    public final int targetEpochDay;
+
+    // Days from the birthdate to the target date
+    public final int dayDifference;
+
+    // The three cycles, rounded to four decimal places like the results table
+    public final double physical;
+    public final double emotional;
+    public final double intellectual;
+
+    BiorhythmResult(int birthEpochDay, int targetEpochDay, double physical, double emotional, double intellectual)
+    {
+        this.birthEpochDay = birthEpochDay;
+        this.targetEpochDay = targetEpochDay;
+        this.dayDifference = targetEpochDay - birthEpochDay;
+        this.physical = physical;
+        this.emotional = emotional;
+        this.intellectual = intellectual;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+            return true;
+        if (!(other instanceof BiorhythmResult))
+            return false;
+
+        BiorhythmResult result = (BiorhythmResult) other;
+        return birthEpochDay == result.birthEpochDay && targetEpochDay == result.targetEpochDay
+                && Double.compare(physical, result.physical) == 0
+                && Double.compare(emotional, result.emotional) == 0
+                && Double.compare(intellectual, result.intellectual) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = 31 * birthEpochDay + targetEpochDay;
+        hash = 31 * hash + Double.hashCode(physical);
+        hash = 31 * hash + Double.hashCode(emotional);
+        return 31 * hash + Double.hashCode(intellectual);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BiorhythmResult[birth " + birthEpochDay + ", target " + targetEpochDay + ": physical " + physical
+                + ", emotional " + emotional + ", intellectual " + intellectual + "]";
+    }
+}
@@ -0,0 +1,438 @@
+package biorhythm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Headless HTTP server that answers biorhythm queries with JSON, using only the JDK's built-in HTTP server
+// Dates are written as yyyy-MM-dd and are checked by DateValidator.checkRow, like in the calculator window, the stream and the bulk renderer
+// (real dates, birth year from 1903, birthdate not after the target date); a rejected date is answered with 400 and the reason
+//
+// Usage: --server [port]   (8080 by default)
+//
+// GET  /biorhythm?birth=1999-02-01&target=2024-06-15      one date (the target defaults to today)
+// GET  /biorhythm/range?birth=1999-02-01&from=2024-06-15&days=30   one result per day
+// POST /biorhythm/batch   body: [{"birth":"1999-02-01","target":"2024-06-15"}, ...]   results in the same order
+// GET  /biorhythm/cache   hit and miss counts of the result cache
+// GET  /biorhythm/metrics   request and calculation timings as plain text (see BiorhythmMetrics)
+public final class BiorhythmServer
+{
+    public static final int DEFAULT_PORT = 8080;
+
+    // Largest number of results a single range or batch request may ask for
+    static final int MAX_RESULTS = 100_000;
+
+    // Largest request body accepted, in bytes; enough for a full batch of MAX_RESULTS entries
+    static final int MAX_BODY_BYTES = 8 * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Repeated queries are answered from here; the size and time to live can be set with -Dbiorhythm.cache.size and -Dbiorhythm.cache.ttlSeconds
+    private final BiorhythmCache cache = new BiorhythmCache(Integer.getInteger("biorhythm.cache.size", 100_000), Long.getLong("biorhythm.cache.ttlSeconds", 3600), TimeUnit.SECONDS);
+
+    public BiorhythmServer(int port) throws IOException
+    {
+        // Without TCP_NODELAY, small responses wait for the client's delayed acknowledgement, adding about 40 ms to every request
+        // The JDK server reads this setting once, so it has to be set before the first server is created
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = newRequestExecutor();
+
+        server.createContext("/biorhythm", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args)
+    {
+        try
+        {
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+            BiorhythmServer server = new BiorhythmServer(port);
+            server.start();
+
+            System.out.println("Biorhythm server listening on port " + server.getPort());
+        }
+        catch (NumberFormatException e)
+        {
+            System.err.println("Usage: --server [port]");
+            System.exit(2);
+        }
+        catch (IOException e)
+        {
+            System.err.println("The server could not be started: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public void start()
+    {
+        server.start();
+    }
+
+    public void stop()
+    {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort()
+    {
+        return server.getAddress().getPort();
+    }
+
+    // Handles every request on its own virtual thread when the JDK has them (Java 21 and later), and on a pooled thread otherwise
+    private static ExecutorService newRequestExecutor()
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.REQUEST);
+        try
+        {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if (path.equals("/biorhythm") && method.equals("GET"))
+                single(exchange);
+            else if (path.equals("/biorhythm/range") && method.equals("GET"))
+                range(exchange);
+            else if (path.equals("/biorhythm/batch") && method.equals("POST"))
+                batch(exchange);
+            else if (path.equals("/biorhythm/cache") && method.equals("GET"))
+                send(exchange, 200, cacheStatistics());
+            else if (path.equals("/biorhythm/metrics") && method.equals("GET"))
+                send(exchange, 200, BiorhythmMetrics.dump(), "text/plain; charset=utf-8");
+            else
+                send(exchange, 404, error("Unknown endpoint"));
+        }
+        catch (IllegalArgumentException e)
+        {
+            send(exchange, 400, error(e.getMessage()));
+        }
+        finally
+        {
+            span.close();
+            exchange.close();
+        }
+    }
+
+    private void single(HttpExchange exchange) throws IOException
+    {
+        Map<String, String> query = query(exchange);
+
+        int[] birth = parseDate(required(query, "birth"));
+        int[] target = query.containsKey("target") ? parseDate(query.get("target")) : today();
+        checkRow(birth, target);
+
+        StringBuilder json = new StringBuilder(128);
+        appendResult(json, birth, target);
+        send(exchange, 200, json);
+    }
+
+    private void range(HttpExchange exchange) throws IOException
+    {
+        Map<String, String> query = query(exchange);
+
+        int[] birth = parseDate(required(query, "birth"));
+        int[] from = query.containsKey("from") ? parseDate(query.get("from")) : today();
+        checkRow(birth, from);
+
+        int days;
+        try
+        {
+            days = Integer.parseInt(required(query, "days"));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("'days' must be a whole number");
+        }
+
+        if (days < 1 || days > MAX_RESULTS)
+            throw new IllegalArgumentException("'days' must be between 1 and " + MAX_RESULTS);
+
+        int birthEpochDay = BiorhythmDates.epochDay(birth[0], birth[1], birth[2]);
+        int fromEpochDay = BiorhythmDates.epochDay(from[0], from[1], from[2]);
+
+        StringBuilder json = new StringBuilder(days * 80 + 64);
+        json.append("{\"birth\":\"");
+        appendDate(json, birthEpochDay);
+        json.append("\",\"results\":[");
+
+        for (int i = 0; i < days; i++)
+        {
+            if (i > 0)
+                json.append(',');
+
+            int epochDay = fromEpochDay + i;
+            json.append("{\"date\":\"");
+            appendDate(json, epochDay);
+            json.append("\",");
+            appendCycles(json, cache.get(birthEpochDay, epochDay));
+            json.append('}');
+        }
+
+        json.append("]}");
+        send(exchange, 200, json);
+    }
+
+    // Reads a JSON array of {"birth": ..., "target": ...} objects; an entry that cannot be scored gets an error object in its place
+    private void batch(HttpExchange exchange) throws IOException
+    {
+        String body = readBody(exchange.getRequestBody(), MAX_BODY_BYTES);
+
+        if (body == null)
+        {
+            send(exchange, 413, error("The request body may be at most " + MAX_BODY_BYTES + " bytes"));
+            return;
+        }
+
+        body = body.strip();
+        if (!body.startsWith("[") || !body.endsWith("]"))
+            throw new IllegalArgumentException("The request body must be a JSON array");
+
+        StringBuilder json = new StringBuilder(body.length() * 2 + 16);
+        json.append('[');
+
+        int count = 0;
+        int start = body.indexOf('{');
+
+        while (start >= 0)
+        {
+            int end = body.indexOf('}', start);
+            if (end < 0)
+                throw new IllegalArgumentException("Unterminated object in the request body");
+
+            if (++count > MAX_RESULTS)
+                throw new IllegalArgumentException("A batch may hold at most " + MAX_RESULTS + " entries");
+
+            if (count > 1)
+                json.append(',');
+
+            try
+            {
+                String entry = body.substring(start, end + 1);
+                int[] birth = parseDate(stringValue(entry, "birth"));
+                String targetText = stringValue(entry, "target");
+                int[] target = targetText == null ? today() : parseDate(targetText);
+                checkRow(birth, target);
+
+                appendResult(json, birth, target);
+            }
+            catch (IllegalArgumentException e)
+            {
+                json.append(error(e.getMessage()));
+            }
+
+            start = body.indexOf('{', end);
+        }
+
+        json.append(']');
+        send(exchange, 200, json);
+    }
+
+    private void appendResult(StringBuilder json, int[] birth, int[] target)
+    {
+        json.append("{\"birth\":\"");
+        appendDate(json, birth);
+        json.append("\",\"target\":\"");
+        appendDate(json, target);
+        json.append("\",");
+        appendCycles(json, cache.get(birth[0], birth[1], birth[2], target[0], target[1], target[2]));
+        json.append('}');
+    }
+
+    // Writes the day difference and the three cycles, rounded to four decimal places like the results table
+    private static void appendCycles(StringBuilder json, BiorhythmResult result)
+    {
+        json.append("\"days\":").append(result.dayDifference)
+                .append(",\"physical\":").append(result.physical)
+                .append(",\"emotional\":").append(result.emotional)
+                .append(",\"intellectual\":").append(result.intellectual);
+    }
+
+    private String cacheStatistics()
+    {
+        return "{\"dateHits\":" + cache.getDateHits() + ",\"dateMisses\":" + cache.getDateMisses()
+                + ",\"phaseHits\":" + cache.getPhaseHits() + ",\"phaseMisses\":" + cache.getPhaseMisses() + ",\"size\":" + cache.size() + "}";
+    }
+
+    // Writes {day, month, year} as yyyy-MM-dd
+    private static void appendDate(StringBuilder json, int[] date)
+    {
+        appendPackedDate(json, date[2] * 10000 + date[1] * 100 + date[0]);
+    }
+
+    // Writes an epoch day as yyyy-MM-dd
+    private static void appendDate(StringBuilder json, int epochDay)
+    {
+        appendPackedDate(json, BiorhythmDates.toYearMonthDay(epochDay));
+    }
+
+    // Writes a date packed as year * 10000 + month * 100 + day
+    private static void appendPackedDate(StringBuilder json, int date)
+    {
+        int month = date / 100 % 100;
+        int day = date % 100;
+
+        json.append(date / 10000).append('-');
+        if (month < 10)
+            json.append('0');
+        json.append(month).append('-');
+        if (day < 10)
+            json.append('0');
+        json.append(day);
+    }
+
+    private static String error(String message)
+    {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    // Parses yyyy-MM-dd into {day, month, year}; whether the numbers make a real date is left to checkRow()
+    static int[] parseDate(String text)
+    {
+        if (text == null || text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-')
+            throw new IllegalArgumentException("Dates must be written as yyyy-MM-dd");
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+
+        if (year < 0 || month < 0 || day < 0)
+            throw new IllegalArgumentException("Dates must be written as yyyy-MM-dd");
+
+        return new int[] {day, month, year};
+    }
+
+    // Returns -1 if any character is not a digit
+    private static int digits(String text, int from, int to)
+    {
+        int value = 0;
+
+        for (int i = from; i < to; i++)
+        {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    // Applies the same checks as every other entry point; the reason becomes the message of the 400 response
+    private static void checkRow(int[] birth, int[] target)
+    {
+        byte reason = DateValidator.checkRow(birth[0], birth[1], birth[2], target[0], target[1], target[2]);
+        if (reason != DateValidator.VALID)
+            throw new IllegalArgumentException(DateValidator.message(reason));
+    }
+
+    private static int[] today()
+    {
+        LocalDate now = LocalDate.now();
+        return new int[] {now.getDayOfMonth(), now.getMonthValue(), now.getYear()};
+    }
+
+    // The string value of a key in a flat JSON object, or null if the key is missing
+    private static String stringValue(String object, String key)
+    {
+        int keyIndex = object.indexOf("\"" + key + "\"");
+        if (keyIndex < 0)
+            return null;
+
+        int colon = object.indexOf(':', keyIndex + key.length() + 2);
+        int open = colon < 0 ? -1 : object.indexOf('"', colon);
+        int close = open < 0 ? -1 : object.indexOf('"', open + 1);
+
+        if (close < 0)
+            throw new IllegalArgumentException("'" + key + "' must be a string");
+
+        return object.substring(open + 1, close);
+    }
+
+    private static String required(Map<String, String> query, String name)
+    {
+        String value = query.get(name);
+        if (value == null)
+            throw new IllegalArgumentException("Missing parameter '" + name + "'");
+        return value;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange)
+    {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+
+        if (raw != null)
+        {
+            for (String pair : raw.split("&"))
+            {
+                int equals = pair.indexOf('=');
+                if (equals > 0)
+                    parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8), URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return parameters;
+    }
+
+    // Reads the body as text, or returns null as soon as it grows past the limit so an oversized body is never held in memory
+    private static String readBody(InputStream in, int limit) throws IOException
+    {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+
+        for (int read; (read = in.read(buffer)) != -1; )
+        {
+            if (body.size() + read > limit)
+                return null;
+            body.write(buffer, 0, read);
+        }
+
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence json) throws IOException
+    {
+        send(exchange, status, json, "application/json");
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence body, String contentType) throws IOException
+    {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody())
+        {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package biorhythm;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+// Command-line streaming mode: reads birthdates (and optional target dates) and writes the three cycles for each row
+// Input and output go through fixed size buffers, so memory use does not grow with the size of the file
+//
+// Usage: --stream <input file | -> <output file | -> [csv | ndjson]
+//
+// Every input row holds a birthdate and optionally a target date, both written as day, month and year (like "01 02 1999")
+// Only the digits of a row are read, so both "01 02 1999,15 06 2024" and {"birth":"01 02 1999","target":"15 06 2024"} work
+// When a row has no target date, today's date is used, just like the calculator window
+// Rows are checked like in the calculator window (see DateValidator); an invalid row produces an empty CSV row, or an
+// ndjson object with the reason, so the output stays aligned with the input
+public final class BiorhythmStream
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BATCH_SIZE = 4096;
+
+    // Longest text a single output row can take up
+    private static final int MAX_ROW_BYTES = 128;
+
+    private static final byte[] CSV_ERROR = ",,,\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_ERROR = "{\"error\":\"invalid date\"}\n".getBytes(StandardCharsets.US_ASCII);
+
+    // Reason of a row that does not hold three or six numbers, next to DateValidator's reason codes
+    private static final byte MALFORMED = -1;
+
+    private final ReadableByteChannel in;
+    private final WritableByteChannel out;
+    private final boolean json;
+    private final int todayDay;
+    private final int todayMonth;
+    private final int todayYear;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    // One batch of rows waiting to be scored; a reason other than DateValidator.VALID marks an invalid row
+    private final byte[] reasons = new byte[BATCH_SIZE];
+    private final int[] births = new int[BATCH_SIZE];
+    private final int[] targets = new int[BATCH_SIZE];
+    private final double[] physical = new double[BATCH_SIZE];
+    private final double[] emotional = new double[BATCH_SIZE];
+    private final double[] intellectual = new double[BATCH_SIZE];
+    private int batchCount;
+
+    // Digits of the row currently being read (day, month, year, day, month, year)
+    private final int[] fields = new int[6];
+    private int fieldCount;
+    private boolean inNumber;
+    private boolean rowHasContent;
+
+    private long rows;
+    private long invalidRows;
+
+    BiorhythmStream(ReadableByteChannel in, WritableByteChannel out, boolean json, LocalDate today)
+    {
+        this.in = in;
+        this.out = out;
+        this.json = json;
+        this.todayDay = today.getDayOfMonth();
+        this.todayMonth = today.getMonthValue();
+        this.todayYear = today.getYear();
+    }
+
+    public static void main(String[] args)
+    {
+        if (args.length < 2 || args.length > 3 || (args.length == 3 && !args[2].equals("csv") && !args[2].equals("ndjson")))
+        {
+            System.err.println("Usage: --stream <input file | -> <output file | -> [csv | ndjson]");
+            System.exit(2);
+        }
+
+        boolean json = args.length == 3 && args[2].equals("ndjson");
+
+        try (ReadableByteChannel in = args[0].equals("-") ? Channels.newChannel(System.in) : new FileInputStream(args[0]).getChannel();
+             WritableByteChannel out = args[1].equals("-") ? Channels.newChannel(System.out) : new FileOutputStream(args[1]).getChannel())
+        {
+            BiorhythmStream stream = new BiorhythmStream(in, out, json, LocalDate.now());
+
+            long start = System.nanoTime();
+            stream.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.err.printf("%d rows (%d invalid) in %.3f s, %.0f rows/s%n", stream.rows, stream.invalidRows, seconds, stream.rows / Math.max(seconds, 1e-9));
+        }
+        catch (IOException e)
+        {
+            System.err.println("Streaming failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Reads the whole input, scoring and writing every full batch as soon as it fills up
+    void run() throws IOException
+    {
+        while (in.read(readBuffer) != -1)
+        {
+            readBuffer.flip();
+            while (readBuffer.hasRemaining())
+                readByte(readBuffer.get());
+            readBuffer.clear();
+        }
+
+        // The last row does not need to end with a line break
+        endRow();
+        flushBatch();
+        flushOutput();
+    }
+
+    // Collects the numbers of a row one byte at a time, ignoring everything that is not a digit
+    private void readByte(byte b) throws IOException
+    {
+        if (b >= '0' && b <= '9')
+        {
+            if (!inNumber)
+            {
+                inNumber = true;
+                if (fieldCount < fields.length)
+                    fields[fieldCount] = 0;
+                fieldCount++;
+            }
+
+            // Numbers longer than a year are invalid anyway, so they are capped instead of overflowing
+            if (fieldCount <= fields.length && fields[fieldCount - 1] < 100000)
+                fields[fieldCount - 1] = fields[fieldCount - 1] * 10 + (b - '0');
+
+            rowHasContent = true;
+        }
+        else if (b == '\n')
+        {
+            endRow();
+        }
+        else
+        {
+            inNumber = false;
+            if (b != '\r' && b != ' ' && b != '\t')
+                rowHasContent = true;
+        }
+    }
+
+    // Turns the numbers of the row into a pair of epoch days and adds them to the batch
+    private void endRow() throws IOException
+    {
+        if (rowHasContent)
+        {
+            byte reason = MALFORMED;
+
+            if (fieldCount == 3 || fieldCount == 6)
+            {
+                if (fieldCount == 3)
+                {
+                    fields[3] = todayDay;
+                    fields[4] = todayMonth;
+                    fields[5] = todayYear;
+                }
+
+                // The same checks as the calculator window: real dates, a supported birth year, and no birth after the target
+                reason = DateValidator.checkRow(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]);
+            }
+
+            if (reason == DateValidator.VALID)
+            {
+                births[batchCount] = BiorhythmDates.epochDay(fields[0], fields[1], fields[2]);
+                targets[batchCount] = BiorhythmDates.epochDay(fields[3], fields[4], fields[5]);
+            }
+            else
+            {
+                // Invalid rows are scored as zero days, their results are never written
+                births[batchCount] = 0;
+                targets[batchCount] = 0;
+                invalidRows++;
+            }
+
+            reasons[batchCount] = reason;
+            rows++;
+
+            if (++batchCount == BATCH_SIZE)
+                flushBatch();
+        }
+
+        fieldCount = 0;
+        inNumber = false;
+        rowHasContent = false;
+    }
+
+    // Scores the rows of the batch and writes them out in their original order
+    private void flushBatch() throws IOException
+    {
+        BiorhythmEngine.evaluate(births, targets, physical, emotional, intellectual, 0, batchCount);
+
+        for (int i = 0; i < batchCount; i++)
+        {
+            if (writeBuffer.remaining() < MAX_ROW_BYTES)
+                flushOutput();
+
+            if (reasons[i] == MALFORMED || (reasons[i] != DateValidator.VALID && !json))
+            {
+                writeBuffer.put(json ? JSON_ERROR : CSV_ERROR);
+            }
+            else if (reasons[i] != DateValidator.VALID)
+            {
+                putAscii("{\"error\":\"");
+                putAscii(DateValidator.message(reasons[i]));
+                putAscii("\"}\n");
+            }
+            else if (json)
+            {
+                putAscii("{\"days\":");
+                putLong(targets[i] - births[i]);
+                putAscii(",\"physical\":");
+                putRounded(physical[i]);
+                putAscii(",\"emotional\":");
+                putRounded(emotional[i]);
+                putAscii(",\"intellectual\":");
+                putRounded(intellectual[i]);
+                putAscii("}\n");
+            }
+            else
+            {
+                putLong(targets[i] - births[i]);
+                writeBuffer.put((byte) ',');
+                putRounded(physical[i]);
+                writeBuffer.put((byte) ',');
+                putRounded(emotional[i]);
+                writeBuffer.put((byte) ',');
+                putRounded(intellectual[i]);
+                writeBuffer.put((byte) '\n');
+            }
+        }
+
+        batchCount = 0;
+    }
+
+    private void flushOutput() throws IOException
+    {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining())
+            out.write(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void putAscii(String text)
+    {
+        for (int i = 0; i < text.length(); i++)
+            writeBuffer.put((byte) text.charAt(i));
+    }
+
+    private void putLong(long value)
+    {
+        if (value < 0)
+        {
+            writeBuffer.put((byte) '-');
+            value = -value;
+        }
+
+        long divisor = 1;
+        while (divisor * 10 <= value)
+            divisor *= 10;
+
+        for (; divisor > 0; divisor /= 10)
+            writeBuffer.put((byte) ('0' + (value / divisor) % 10));
+    }
+
+    // Writes the value rounded to four decimal places, the same precision as the results table
+    private void putRounded(double value)
+    {
+        long scaled = Math.round(value * 10000);
+
+        if (scaled < 0)
+        {
+            writeBuffer.put((byte) '-');
+            scaled = -scaled;
+        }
+
+        putLong(scaled / 10000);
+        writeBuffer.put((byte) '.');
+
+        long fraction = scaled % 10000;
+        for (long divisor = 1000; divisor > 0; divisor /= 10)
+            writeBuffer.put((byte) ('0' + (fraction / divisor) % 10));
+    }
+}
@@ -0,0 +1,499 @@
+package biorhythm;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jfree.chart.JFreeChart;
+
+// Renders one biorhythm chart per input row, on several threads and without any window (the same 400x300 chart as the Save button)
+// Every thread builds its chart, image and output buffer once and reuses them for all of its rows, so a chart only costs
+// refilling the dataset, drawing and encoding
+//
+// Usage: java biorhythm.BulkChartRenderer <input file> <output directory | output.zip> [png | svg] [days] [threads]
+//        (png, 10 days and one thread per processor by default)
+//
+// Every input row holds a birthdate and optionally a target date, written as day, month and year like the streaming mode
+// ("01 02 1999,15 06 2024"); today's date is used when the target date is missing
+// Row n is written as chart-n.png (or .svg), counting from 1; rows are checked like in the calculator window (see DateValidator)
+// and rows with an invalid date are skipped
+public final class BulkChartRenderer
+{
+    public enum Format
+    {
+        PNG("png"),
+        SVG("svg");
+
+        final String extension;
+
+        Format(String extension)
+        {
+            this.extension = extension;
+        }
+    }
+
+    // Receives the finished charts; must be safe to call from several threads at once
+    public interface ChartSink extends AutoCloseable
+    {
+        void write(String name, Buffer chart) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // An output buffer that hands out its array instead of copying it
+    public static final class Buffer extends ByteArrayOutputStream
+    {
+        Buffer(int size)
+        {
+            super(size);
+        }
+
+        public byte[] array()
+        {
+            return buf;
+        }
+    }
+
+    public static final int WIDTH = 400;
+    public static final int HEIGHT = 300;
+
+    private final Format format;
+    private final int days;
+    private final ChartSink sink;
+    private final int todayDay;
+    private final int todayMonth;
+    private final int todayYear;
+
+    // Each thread's chart, image and buffers, created the first time the thread renders something
+    private final ThreadLocal<Renderer> renderers;
+
+    private final AtomicLong charts = new AtomicLong();
+    private final AtomicLong invalidRows = new AtomicLong();
+    private final AtomicLong failedCharts = new AtomicLong();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+    public BulkChartRenderer(Format format, int days, ChartSink sink, LocalDate today)
+    {
+        if (days < 1 || days > BiorhythmCalculatorClass.MAX_GRAPH_DAYS)
+            throw new IllegalArgumentException("The number of days must be between 1 and " + BiorhythmCalculatorClass.MAX_GRAPH_DAYS + ", was " + days);
+
+        this.format = format;
+        this.days = days;
+        this.sink = sink;
+        this.todayDay = today.getDayOfMonth();
+        this.todayMonth = today.getMonthValue();
+        this.todayYear = today.getYear();
+        this.renderers = ThreadLocal.withInitial(() -> new Renderer(format, days));
+    }
+
+    public static void main(String[] args)
+    {
+        // Nothing is shown on screen, so this also runs on servers without a display
+        if (System.getProperty("java.awt.headless") == null)
+            System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 2 || args.length > 5 || (args.length > 2 && !args[2].equals("png") && !args[2].equals("svg")))
+        {
+            System.err.println("Usage: <input file> <output directory | output.zip> [png | svg] [days] [threads]");
+            System.exit(2);
+        }
+
+        try
+        {
+            Format format = args.length > 2 && args[2].equals("svg") ? Format.SVG : Format.PNG;
+            int days = args.length > 3 ? Integer.parseInt(args[3]) : AdaptiveCycleDataset.DEFAULT_DAYS;
+            int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+            long failed;
+
+            try (BufferedReader in = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.US_ASCII);
+                 ChartSink sink = args[1].endsWith(".zip") ? new ZipSink(Paths.get(args[1])) : new DirectorySink(Paths.get(args[1])))
+            {
+                BulkChartRenderer renderer = new BulkChartRenderer(format, days, sink, LocalDate.now());
+
+                long start = System.nanoTime();
+                renderer.run(in, threads);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                System.err.printf("%d charts (%d invalid rows, %d failed) in %.3f s, %.0f charts/s%n", renderer.getCharts(), renderer.getInvalidRows(),
+                        renderer.getFailedCharts(), seconds, renderer.getCharts() / Math.max(seconds, 1e-9));
+                failed = renderer.getFailedCharts();
+            }
+
+            // Only after the sink is closed, so the charts that did render are complete
+            if (failed > 0)
+                System.exit(1);
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            System.err.println("Rendering failed: " + e.getMessage());
+            System.exit(1);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    // Reads the rows one at a time and renders them on 'threads' threads
+    // The queue in front of the threads is short, so a huge input never sits in memory; when it is full the reading thread renders too
+    public void run(BufferedReader in, int threads) throws IOException, InterruptedException
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread is needed, was " + threads);
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(threads * 4), r -> {
+            Thread thread = new Thread(r, "chart-renderer");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try
+        {
+            long row = 0;
+
+            // Only this thread parses rows, so one array holds the numbers of every row
+            int[] fields = new int[6];
+
+            for (String line; (line = in.readLine()) != null && failure.get() == null; )
+            {
+                if (line.isBlank())
+                    continue;
+
+                row++;
+
+                int dayDifference = dayDifference(line, fields);
+                if (dayDifference < 0)
+                {
+                    invalidRows.incrementAndGet();
+                    continue;
+                }
+
+                String name = "chart-" + row + "." + format.extension;
+                pool.execute(() -> render(name, dayDifference));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        if (failure.get() != null)
+            throw failure.get();
+    }
+
+    // Renders one chart on the calling thread and hands it to the sink
+    // A chart that fails with an unexpected exception is counted in getFailedCharts() and the other rows carry on
+    public void render(String name, int dayDifference)
+    {
+        if (failure.get() != null)
+            return;
+
+        BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.EXPORT);
+        try
+        {
+            sink.write(name, renderers.get().render(dayDifference));
+            charts.incrementAndGet();
+        }
+        catch (IOException e)
+        {
+            failure.compareAndSet(null, e);
+        }
+        catch (RuntimeException e)
+        {
+            // Reported once, so a problem that hits every row does not flood the output
+            if (failedCharts.getAndIncrement() == 0)
+                System.err.println("The chart " + name + " could not be rendered: " + e);
+        }
+        finally
+        {
+            span.close();
+        }
+    }
+
+    public long getCharts()
+    {
+        return charts.get();
+    }
+
+    public long getInvalidRows()
+    {
+        return invalidRows.get();
+    }
+
+    public long getFailedCharts()
+    {
+        return failedCharts.get();
+    }
+
+    // The day difference of a row, or -1 if DateValidator rejects its dates; 'fields' receives the row's numbers
+    private int dayDifference(String line, int[] fields)
+    {
+        int count = 0;
+
+        for (int i = 0; i < line.length(); )
+        {
+            if (!Character.isDigit(line.charAt(i)))
+            {
+                i++;
+                continue;
+            }
+
+            int value = 0;
+            for (; i < line.length() && Character.isDigit(line.charAt(i)) && value < 100_000; i++)
+                value = value * 10 + (line.charAt(i) - '0');
+
+            if (count == fields.length)
+                return -1;
+            fields[count++] = value;
+        }
+
+        if (count != 3 && count != 6)
+            return -1;
+
+        if (count == 3)
+        {
+            fields[3] = todayDay;
+            fields[4] = todayMonth;
+            fields[5] = todayYear;
+        }
+
+        // The same checks as the calculator window, the stream and the server
+        if (DateValidator.checkRow(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]) != DateValidator.VALID)
+            return -1;
+
+        return BiorhythmDates.dayDifference(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]);
+    }
+
+    // Everything one thread needs to render charts, built once
+    private static final class Renderer
+    {
+        // Series colours of the JFreeChart default theme, so the SVG charts look like the PNG ones
+        private static final String[] COLOURS = {"#ff5555", "#5555ff", "#55ff55"};
+
+        private static final int LEFT = 40;
+        private static final int TOP = 10;
+        private static final int PLOT_WIDTH = WIDTH - LEFT - 10;
+        private static final int PLOT_HEIGHT = HEIGHT - TOP - 60;
+
+        private final Format format;
+        private final int days;
+        private final AdaptiveCycleDataset dataset = new AdaptiveCycleDataset();
+        private final Buffer buffer = new Buffer(32 * 1024);
+
+        private JFreeChart chart;
+        private BufferedImage image;
+        private Graphics2D graphics;
+        private Rectangle2D area;
+        private PngEncoder png;
+
+        private StringBuilder svg;
+
+        Renderer(Format format, int days)
+        {
+            this.format = format;
+            this.days = days;
+
+            // Never more points per cycle than the plot is wide, however long the forecast
+            dataset.setResolution(PLOT_WIDTH, PLOT_HEIGHT);
+
+            if (format == Format.PNG)
+            {
+                chart = BiorhythmCalculatorClass.createChart(dataset);
+                image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+                graphics = image.createGraphics();
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                area = new Rectangle2D.Double(0, 0, WIDTH, HEIGHT);
+                png = new PngEncoder();
+            }
+            else
+            {
+                svg = new StringBuilder(16 * 1024);
+            }
+        }
+
+        Buffer render(int dayDifference) throws IOException
+        {
+            // Resamples the dataset; the chart is listening and redraws from it below
+            dataset.setForecast(dayDifference, days);
+            buffer.reset();
+
+            if (format == Format.PNG)
+            {
+                chart.draw(graphics, area);
+                png.write(image, buffer);
+            }
+            else
+            {
+                writeSvg();
+                for (int i = 0; i < svg.length(); i++)
+                    buffer.write(svg.charAt(i));
+            }
+
+            return buffer;
+        }
+
+        // Writes the chart as SVG directly from the dataset: the plot frame, the grid, one line per cycle and the legend
+        private void writeSvg()
+        {
+            svg.setLength(0);
+            svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(WIDTH).append("\" height=\"").append(HEIGHT).append("\">\n");
+            svg.append("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+            svg.append("<rect x=\"").append(LEFT).append("\" y=\"").append(TOP).append("\" width=\"").append(PLOT_WIDTH).append("\" height=\"").append(PLOT_HEIGHT).append("\" fill=\"#eeeeee\"/>\n");
+
+            // Horizontal grid lines and labels at -1, -0.5, 0, 0.5 and 1
+            for (int step = -2; step <= 2; step++)
+            {
+                double y = yPosition(step / 2.0);
+                svg.append("<line x1=\"").append(LEFT).append("\" x2=\"").append(LEFT + PLOT_WIDTH).append("\" y1=\"");
+                appendNumber(y);
+                svg.append("\" y2=\"");
+                appendNumber(y);
+                svg.append("\" stroke=\"white\"/><text x=\"").append(LEFT - 4).append("\" y=\"");
+                appendNumber(y + 4);
+                svg.append("\" font-size=\"10\" text-anchor=\"end\">");
+                appendNumber(step / 2.0);
+                svg.append("</text>\n");
+            }
+
+            for (int series = 0; series < dataset.getSeriesCount(); series++)
+            {
+                svg.append("<polyline fill=\"none\" stroke=\"").append(COLOURS[series]).append("\" points=\"");
+
+                for (int item = 0; item < dataset.getItemCount(series); item++)
+                {
+                    appendNumber(xPosition(dataset.getXValue(series, item)));
+                    svg.append(',');
+                    appendNumber(yPosition(dataset.getYValue(series, item)));
+                    svg.append(' ');
+                }
+
+                svg.append("\"/>\n");
+            }
+
+            svg.append("<text x=\"").append(LEFT + PLOT_WIDTH / 2).append("\" y=\"").append(TOP + PLOT_HEIGHT + 18)
+                    .append("\" font-size=\"11\" text-anchor=\"middle\">Date (From the Target Date)</text>\n");
+
+            for (int series = 0; series < dataset.getSeriesCount(); series++)
+            {
+                int x = LEFT + 30 + series * 110;
+                int y = TOP + PLOT_HEIGHT + 40;
+
+                svg.append("<line x1=\"").append(x).append("\" x2=\"").append(x + 20).append("\" y1=\"").append(y).append("\" y2=\"").append(y)
+                        .append("\" stroke=\"").append(COLOURS[series]).append("\" stroke-width=\"2\"/><text x=\"").append(x + 24).append("\" y=\"").append(y + 4)
+                        .append("\" font-size=\"11\">").append(dataset.getSeriesKey(series)).append("</text>\n");
+            }
+
+            svg.append("</svg>\n");
+        }
+
+        private double xPosition(double day)
+        {
+            return LEFT + day / days * PLOT_WIDTH;
+        }
+
+        private static double yPosition(double value)
+        {
+            return TOP + (1.1 - value) / 2.2 * PLOT_HEIGHT;
+        }
+
+        // Appends a number with one decimal place, without going through String.format
+        private void appendNumber(double value)
+        {
+            long tenths = Math.round(value * 10);
+            if (tenths < 0)
+            {
+                svg.append('-');
+                tenths = -tenths;
+            }
+
+            svg.append(tenths / 10).append('.').append(tenths % 10);
+        }
+    }
+
+    // Writes every chart to its own file in a directory
+    static final class DirectorySink implements ChartSink
+    {
+        private final Path directory;
+
+        DirectorySink(Path directory) throws IOException
+        {
+            this.directory = Files.createDirectories(directory);
+        }
+
+        @Override
+        public void write(String name, Buffer chart) throws IOException
+        {
+            try (OutputStream out = new FileOutputStream(directory.resolve(name).toFile()))
+            {
+                out.write(chart.array(), 0, chart.size());
+            }
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    // Writes every chart into one zip archive, as it is finished
+    // PNG files are already compressed, so they are stored as they are instead of being compressed a second time
+    static final class ZipSink implements ChartSink
+    {
+        private final ZipOutputStream zip;
+        private final CRC32 crc = new CRC32();
+
+        ZipSink(Path file) throws IOException
+        {
+            zip = new ZipOutputStream(Files.newOutputStream(file));
+        }
+
+        @Override
+        public synchronized void write(String name, Buffer chart) throws IOException
+        {
+            ZipEntry entry = new ZipEntry(name);
+
+            if (name.endsWith(".png"))
+            {
+                crc.reset();
+                crc.update(chart.array(), 0, chart.size());
+
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(chart.size());
+                entry.setCompressedSize(chart.size());
+                entry.setCrc(crc.getValue());
+            }
+
+            zip.putNextEntry(entry);
+            zip.write(chart.array(), 0, chart.size());
+            zip.closeEntry();
+        }
+
+        @Override
+        public synchronized void close() throws IOException
+        {
+            zip.close();
+        }
+    }
+}
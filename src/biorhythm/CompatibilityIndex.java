@@ -0,0 +1,188 @@
+package biorhythm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Answers "who is most in sync with this person" over a large population of birthdates
+// Everyone's cycles depend only on their birthdate modulo 23, 28 and 33 days, so people fall into at most
+// 23 * 28 * 33 = 21252 phase classes, and everyone in a class is exactly as compatible with a given person
+// The index groups the population by phase class once; a query walks the classes from most to least compatible
+// and stops as soon as it has K people, so it never looks at the rest of the population
+//
+// Two people are scored by the cosine of their phase difference in each cycle, averaged over the three cycles:
+// 1 means their cycles are identical, -1 means every cycle is exactly opposite
+public final class CompatibilityIndex
+{
+    // One person found by a query
+    public static final class Match
+    {
+        // Position of the person in the array the index was built from
+        public final int person;
+        public final int birthEpochDay;
+        public final double score;
+
+        Match(int person, int birthEpochDay, double score)
+        {
+            this.person = person;
+            this.birthEpochDay = birthEpochDay;
+            this.score = score;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "person " + person + " (score " + score + ")";
+        }
+    }
+
+    private static final int CLASSES = BiorhythmCache.FULL_CYCLE_DAYS;
+
+    // Score of every birthdate difference modulo CLASSES, and those differences from the best score to the worst
+    private static final double[] SCORES = new double[CLASSES];
+    private static final int[] RANKED_DIFFERENCES;
+
+    // Most phase classes that share one score (a difference and its opposite, for example)
+    private static final int MAX_TIED_CLASSES;
+
+    static
+    {
+        Integer[] ranked = new Integer[CLASSES];
+
+        for (int difference = 0; difference < CLASSES; difference++)
+        {
+            SCORES[difference] = scoreDifference(difference);
+            ranked[difference] = difference;
+        }
+
+        // Equal scores keep the smaller difference first, so queries always return the same people
+        Arrays.sort(ranked, (a, b) -> {
+            int byScore = Double.compare(SCORES[b], SCORES[a]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+
+        RANKED_DIFFERENCES = new int[CLASSES];
+        for (int i = 0; i < CLASSES; i++)
+            RANKED_DIFFERENCES[i] = ranked[i];
+
+        int largest = 0;
+        for (int i = 0, run = 0; i < CLASSES; i++)
+        {
+            run = i > 0 && SCORES[RANKED_DIFFERENCES[i]] == SCORES[RANKED_DIFFERENCES[i - 1]] ? run + 1 : 1;
+            largest = Math.max(largest, run);
+        }
+        MAX_TIED_CLASSES = largest;
+    }
+
+    private final int[] birthEpochDays;
+
+    // The people of phase class c are members[classStart[c]] up to (but not including) members[classStart[c + 1]]
+    private final int[] classStart = new int[CLASSES + 1];
+    private final int[] members;
+
+    // Builds the index over birthdates given as epoch days (LocalDate.toEpochDay()); a person is identified by their position in the array
+    public CompatibilityIndex(int[] birthEpochDays)
+    {
+        this.birthEpochDays = birthEpochDays.clone();
+        this.members = new int[birthEpochDays.length];
+
+        // Counting sort by phase class: count the people in each class, turn the counts into start positions, then place everyone
+        for (int birthEpochDay : birthEpochDays)
+            classStart[phaseClass(birthEpochDay) + 1]++;
+
+        for (int c = 0; c < CLASSES; c++)
+            classStart[c + 1] += classStart[c];
+
+        int[] next = Arrays.copyOf(classStart, CLASSES);
+        for (int person = 0; person < birthEpochDays.length; person++)
+            members[next[phaseClass(birthEpochDays[person])]++] = person;
+    }
+
+    public int size()
+    {
+        return members.length;
+    }
+
+    // Number of phase classes that have at least one person in them
+    public int occupiedClasses()
+    {
+        int occupied = 0;
+        for (int c = 0; c < CLASSES; c++)
+        {
+            if (classStart[c + 1] > classStart[c])
+                occupied++;
+        }
+        return occupied;
+    }
+
+    // The 'k' people most compatible with someone born on 'birthEpochDay', best first
+    // People with the same score are returned in the order they were given to the index
+    public List<Match> top(int birthEpochDay, int k)
+    {
+        if (k < 0)
+            throw new IllegalArgumentException("The number of matches cannot be negative, was " + k);
+
+        List<Match> matches = new ArrayList<>(Math.min(k, members.length));
+        int reference = phaseClass(birthEpochDay);
+
+        // Where the next person of each class of a tie group is; one slot per class of the largest group
+        int[] cursors = new int[MAX_TIED_CLASSES];
+        int[] ends = new int[MAX_TIED_CLASSES];
+
+        for (int i = 0; i < CLASSES && matches.size() < k; )
+        {
+            // Classes with the same score are taken together; each class already holds its people in the order they
+            // were given, so merging the classes by position keeps that order across the whole group
+            double score = SCORES[RANKED_DIFFERENCES[i]];
+            int tied = 0;
+
+            for (; i < CLASSES && SCORES[RANKED_DIFFERENCES[i]] == score; i++, tied++)
+            {
+                int phaseClass = (reference + RANKED_DIFFERENCES[i]) % CLASSES;
+                cursors[tied] = classStart[phaseClass];
+                ends[tied] = classStart[phaseClass + 1];
+            }
+
+            while (matches.size() < k)
+            {
+                int best = -1;
+                for (int t = 0; t < tied; t++)
+                {
+                    if (cursors[t] < ends[t] && (best < 0 || members[cursors[t]] < members[cursors[best]]))
+                        best = t;
+                }
+
+                if (best < 0)
+                    break;
+
+                int person = members[cursors[best]++];
+                matches.add(new Match(person, birthEpochDays[person], score));
+            }
+        }
+
+        return matches;
+    }
+
+    // Compatibility of two birthdates, from -1 to 1
+    public static double score(int birthEpochDayA, int birthEpochDayB)
+    {
+        return SCORES[Math.floorMod(birthEpochDayB - birthEpochDayA, CLASSES)];
+    }
+
+    static int phaseClass(int birthEpochDay)
+    {
+        return Math.floorMod(birthEpochDay, CLASSES);
+    }
+
+    // Average over the three cycles of cos(2 * PI * difference / period)
+    // The cosine is the calculator's sine a quarter period later, so it comes from the same cycle tables as calculate()
+    private static double scoreDifference(int difference)
+    {
+        double total = 0;
+
+        for (int c = 0; c < CycleTable.PERIODS.length; c++)
+            total += CycleTable.fractional(c, difference + CycleTable.PERIODS[c] / 4.0);
+
+        return total / CycleTable.PERIODS.length;
+    }
+}
@@ -0,0 +1,254 @@
+package biorhythm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Finds the critical days (zero crossings), peaks and troughs of the three cycles, and the stretches where all three
+// cycles are in the same colour band of the results table, straight from the 23, 28 and 33 day periods
+// Nothing is sampled: sin(2 * PI * t / p) crosses zero at t = k * p / 2, peaks at t = p / 4 + k * p and bottoms out at
+// t = 3 * p / 4 + k * p, so the work done is proportional to the number of events found, not to the number of days scanned
+//
+// All times are day differences (days since birth, possibly fractional); Event.epochDay() turns them into dates
+public final class CriticalDayFinder
+{
+    public enum Type
+    {
+        // Zero crossing going up (a critical day at the start of a positive half)
+        RISING_ZERO,
+        // Highest point of the cycle
+        PEAK,
+        // Zero crossing going down (a critical day at the start of a negative half)
+        FALLING_ZERO,
+        // Lowest point of the cycle
+        TROUGH
+    }
+
+    // One event of one cycle
+    public static final class Event
+    {
+        public final int cycle;
+        public final Type type;
+        public final double dayDifference;
+
+        Event(int cycle, Type type, double dayDifference)
+        {
+            this.cycle = cycle;
+            this.type = type;
+            this.dayDifference = dayDifference;
+        }
+
+        // The date the event falls on, for someone born on 'birthEpochDay'
+        public int epochDay(int birthEpochDay)
+        {
+            return birthEpochDay + (int) Math.floor(dayDifference);
+        }
+
+        @Override
+        public String toString()
+        {
+            return type + " of cycle " + cycle + " at " + dayDifference;
+        }
+    }
+
+    // A stretch of time, between two fractional day differences, during which a condition holds
+    public static final class Interval
+    {
+        public final double start;
+        public final double end;
+
+        Interval(double start, double end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        // First and last whole day difference inside the interval (the values the results table shows);
+        // the first is larger than the last when the interval contains no whole day
+        public int firstWholeDay()
+        {
+            return (int) Math.floor(start) + 1;
+        }
+
+        public int lastWholeDay()
+        {
+            return (int) Math.ceil(end) - 1;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "(" + start + ", " + end + ")";
+        }
+    }
+
+    // Receives events in time order, without building a list
+    public interface EventHandler
+    {
+        void event(int cycle, Type type, double dayDifference);
+    }
+
+    private static final Type[] QUARTERS = Type.values();
+
+    private CriticalDayFinder()
+    {
+    }
+
+    // Every event of every cycle from 'from' (inclusive) to 'to' (exclusive), in time order
+    public static List<Event> events(double from, double to)
+    {
+        List<Event> events = new ArrayList<>();
+        events(from, to, (cycle, type, day) -> events.add(new Event(cycle, type, day)));
+        return events;
+    }
+
+    // Streams every event of every cycle from 'from' (inclusive) to 'to' (exclusive) to the handler, in time order
+    // Each cycle has an event every quarter period, so the three sequences are merged like sorted lists
+    public static void events(double from, double to, EventHandler handler)
+    {
+        int cycles = CycleTable.PERIODS.length;
+        int[] nextType = new int[cycles];
+        double[] nextDay = new double[cycles];
+
+        // Time and type of the first quarter-period event at or after 'from' in every cycle
+        // (quarters of 23, 28 and 33 are exact in binary, so adding them up never drifts)
+        for (int c = 0; c < cycles; c++)
+        {
+            long quarters = (long) Math.ceil(from / quarter(c));
+
+            nextType[c] = (int) (quarters & 3);
+            nextDay[c] = quarters * quarter(c);
+        }
+
+        while (true)
+        {
+            int earliest = 0;
+            for (int c = 1; c < cycles; c++)
+            {
+                if (nextDay[c] < nextDay[earliest])
+                    earliest = c;
+            }
+
+            double day = nextDay[earliest];
+            if (day >= to)
+                return;
+
+            handler.event(earliest, QUARTERS[nextType[earliest]], day);
+
+            nextType[earliest] = (nextType[earliest] + 1) & 3;
+            nextDay[earliest] = day + quarter(earliest);
+        }
+    }
+
+    // The events of a single cycle from 'from' (inclusive) to 'to' (exclusive)
+    public static List<Event> events(int cycle, double from, double to)
+    {
+        List<Event> events = new ArrayList<>();
+        double quarter = quarter(cycle);
+
+        for (long k = (long) Math.ceil(from / quarter); k * quarter < to; k++)
+            events.add(new Event(cycle, QUARTERS[(int) (k & 3)], k * quarter));
+
+        return events;
+    }
+
+    // The stretches between 'from' and 'to' where all three cycles are below -threshold
+    // With CycleCellRenderer.THRESHOLD these are the days the results table shows in red in every column
+    public static List<Interval> allBelow(double threshold, double from, double to)
+    {
+        // sin(2 * PI * phase) < -threshold for phases between 0.5 + a and 1 - a, where a = asin(threshold) / (2 * PI)
+        double a = Math.asin(threshold) / (2 * Math.PI);
+        return intersect(0.5 + a, 1 - a, from, to);
+    }
+
+    // The stretches between 'from' and 'to' where all three cycles are above the threshold (green in every column)
+    public static List<Interval> allAbove(double threshold, double from, double to)
+    {
+        double a = Math.asin(threshold) / (2 * Math.PI);
+        return intersect(a, 0.5 - a, from, to);
+    }
+
+    // Intersects, across the three cycles, the intervals where each cycle's phase (t / period modulo 1) lies between 'low' and 'high'
+    // Every cycle contributes one interval per period; the sweep moves past the interval that ends first after a match,
+    // and after a miss jumps every cycle that ends before the latest start straight past it (one division, not one step per period),
+    // so most intervals are never looked at
+    private static List<Interval> intersect(double low, double high, double from, double to)
+    {
+        List<Interval> result = new ArrayList<>();
+
+        if (!(low < high) || !(from < to))
+            return result;
+
+        int cycles = CycleTable.PERIODS.length;
+        double[] starts = new double[cycles];
+        double[] ends = new double[cycles];
+
+        // The first interval of each cycle that ends after 'from'
+        for (int c = 0; c < cycles; c++)
+            skipTo(starts, ends, c, low, high, from);
+
+        while (true)
+        {
+            double start = from;
+            double end = to;
+            int endsFirst = 0;
+
+            for (int c = 0; c < cycles; c++)
+            {
+                start = Math.max(start, starts[c]);
+
+                if (ends[c] < end)
+                {
+                    end = ends[c];
+                    endsFirst = c;
+                }
+            }
+
+            if (start >= to)
+                return result;
+
+            if (start < end)
+            {
+                result.add(new Interval(start, end));
+
+                if (end >= to)
+                    return result;
+
+                advance(starts, ends, endsFirst);
+            }
+            else
+            {
+                for (int c = 0; c < cycles; c++)
+                {
+                    if (ends[c] <= start)
+                        skipTo(starts, ends, c, low, high, start);
+                }
+            }
+        }
+    }
+
+    // Moves the cycle straight to its first interval that ends after 'time', finding the period by division
+    private static void skipTo(double[] starts, double[] ends, int cycle, double low, double high, double time)
+    {
+        int p = CycleTable.PERIODS[cycle];
+        double period = Math.floor(time / p - high) + 1;
+
+        starts[cycle] = (period + low) * p;
+        ends[cycle] = (period + high) * p;
+
+        // Rounding can leave the end exactly on 'time'
+        if (ends[cycle] <= time)
+            advance(starts, ends, cycle);
+    }
+
+    // Moves the cycle on to its interval in the next period
+    private static void advance(double[] starts, double[] ends, int cycle)
+    {
+        starts[cycle] += CycleTable.PERIODS[cycle];
+        ends[cycle] += CycleTable.PERIODS[cycle];
+    }
+
+    private static double quarter(int cycle)
+    {
+        return CycleTable.PERIODS[cycle] / 4.0;
+    }
+}
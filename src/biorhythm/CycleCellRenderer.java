@@ -0,0 +1,42 @@
+package biorhythm;
+
+import java.awt.Color;
+import java.awt.Component;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+
+// Renders the cells of the results table, coloring each cycle value by how good it is:
+// green above 0.3, red below -0.3 and yellow in between; the date column and empty cells stay white
+// The value is read as a number, straight from ForecastTableModel's double columns when the table uses one, so no strings
+// are parsed and nothing is unboxed while painting
+@SuppressWarnings("serial")
+public class CycleCellRenderer extends DefaultTableCellRenderer
+{
+    static final double THRESHOLD = 0.3;
+
+    // Picks the background for a cycle value
+    static Color classify(double value)
+    {
+        if (value > THRESHOLD)
+            return Color.GREEN;
+        else if (value < -THRESHOLD)
+            return Color.RED;
+        else
+            return Color.YELLOW;
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column)
+    {
+        super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+
+        if (column > 0 && value != null && table.getModel() instanceof ForecastTableModel)
+            setBackground(classify(((ForecastTableModel) table.getModel()).getCycleValue(row, column - 1)));
+        else if (column > 0 && value instanceof Double)
+            setBackground(classify((Double) value));
+        else
+            setBackground(Color.WHITE);
+
+        return this;
+    }
+}
@@ -0,0 +1,119 @@
+package biorhythm;
+
+// Lookup tables for the three biorhythm cycles, replacing Math.sin in the hot paths
+// Every cycle repeats after a whole number of days (23, 28 and 33), so:
+// - whole-day values only need one table entry per day of the cycle
+// - fractional days (like the 0.1 day steps of the graph) use a finer table with linear interpolation
+public final class CycleTable
+{
+    // Indexes of the cycles, in the same order as the columns of the results table
+    public static final int PHYSICAL = 0;
+    public static final int EMOTIONAL = 1;
+    public static final int INTELLECTUAL = 2;
+
+    // Cycle lengths in days, the same as 23 + 5 * (l - 1) in the calculator window
+    static final int[] PERIODS = {BiorhythmEngine.PHYSICAL_PERIOD, BiorhythmEngine.EMOTIONAL_PERIOD, BiorhythmEngine.INTELLECTUAL_PERIOD};
+
+    // Number of fine table entries per day
+    static final int STEPS_PER_DAY = 64;
+
+    // Worst interpolation error of the fine table
+    // Linear interpolation of sin(w * t) is off by at most w^2 * h^2 / 8, where h is the step (1/64 day)
+    // The shortest cycle (23 days) has the largest w, which gives (2 * PI / 23)^2 / (8 * 64^2) = 2.28e-6
+    public static final double FINE_ERROR_BOUND = 2.3e-6;
+
+    private static final double[][] WHOLE_DAY = new double[PERIODS.length][];
+    private static final double[][] FINE = new double[PERIODS.length][];
+
+    static
+    {
+        for (int c = 0; c < PERIODS.length; c++)
+        {
+            int period = PERIODS[c];
+
+            WHOLE_DAY[c] = new double[period];
+            for (int d = 0; d < period; d++)
+                WHOLE_DAY[c][d] = Math.sin((2 * Math.PI * d) / period);
+
+            // One extra entry at the end so interpolation never has to wrap around
+            int steps = period * STEPS_PER_DAY;
+            FINE[c] = new double[steps + 1];
+            for (int s = 0; s <= steps; s++)
+                FINE[c][s] = Math.sin((2 * Math.PI * s) / steps);
+        }
+    }
+
+    private CycleTable()
+    {
+    }
+
+    // Value of the cycle after a whole number of days (negative differences are allowed)
+    public static double wholeDay(int cycle, int dayDifference)
+    {
+        return WHOLE_DAY[cycle][Math.floorMod(dayDifference, PERIODS[cycle])];
+    }
+
+    // Value of the cycle after a fractional number of days, accurate to FINE_ERROR_BOUND
+    public static double fractional(int cycle, double days)
+    {
+        int period = PERIODS[cycle];
+
+        // Brings the day count into [0, period) before looking it up
+        double phase = days - Math.floor(days / period) * period;
+        double position = phase * STEPS_PER_DAY;
+
+        int index = (int) position;
+        double[] table = FINE[cycle];
+
+        // Rounding in the modulo can land exactly on the end of the table
+        if (index >= table.length - 1)
+            return table[table.length - 1];
+
+        double weight = position - index;
+        return table[index] + (table[index + 1] - table[index]) * weight;
+    }
+
+    // Exact value of the cycle after a fractional number of days, for numbers that are printed (the precise table rows and
+    // PreciseBiorhythm), so they match PreciseBiorhythm.series() digit for digit; the graph keeps using fractional()
+    public static double exact(int cycle, double days)
+    {
+        int period = PERIODS[cycle];
+
+        // The phase is brought into [0, period) first, so the angle stays small and exact for any age
+        double phase = days - Math.floor(days / period) * period;
+        return Math.sin(2 * Math.PI / period * phase);
+    }
+
+    // Compares both tables against Math.sin and returns the largest difference found
+    // Whole days are checked for every day of every cycle, fractional days on a grid much finer than the table
+    public static double maxError()
+    {
+        double worst = 0;
+
+        for (int c = 0; c < PERIODS.length; c++)
+        {
+            int period = PERIODS[c];
+
+            for (int d = -period; d < 2 * period; d++)
+                worst = Math.max(worst, Math.abs(wholeDay(c, d) - Math.sin((2 * Math.PI * d) / period)));
+
+            int samples = period * STEPS_PER_DAY * 10;
+            for (int s = 0; s <= samples; s++)
+            {
+                double days = (double) s * period / samples;
+                worst = Math.max(worst, Math.abs(fractional(c, days) - Math.sin((2 * Math.PI * days) / period)));
+            }
+        }
+
+        return worst;
+    }
+
+    // Throws an exception if the tables do not agree with Math.sin within FINE_ERROR_BOUND
+    public static void verify()
+    {
+        double error = maxError();
+
+        if (error > FINE_ERROR_BOUND)
+            throw new IllegalStateException("Cycle tables differ from Math.sin by " + error);
+    }
+}
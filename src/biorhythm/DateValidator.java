@@ -0,0 +1,119 @@
+package biorhythm;
+
+import java.util.BitSet;
+
+// Checks birthdates and target dates in bulk, straight from columns of day, month and year numbers
+// Nothing is thrown for an invalid row: its bit is set in the returned BitSet and its reason is written to a byte array,
+// so a file with many bad rows costs no more to check than one without any
+//
+// Months and days are checked against the Gregorian calendar (29 February only in years divisible by 4, except
+// centuries that are not divisible by 400), and a row must pass the same checks as the calculator window:
+// the birth year is not before MIN_BIRTH_YEAR and the birthdate is not after the target date
+public final class DateValidator
+{
+    // Reason codes, one per row; a row gets the first reason that applies, in this order
+    public static final byte VALID = 0;
+    public static final byte BIRTH_MONTH = 1;
+    public static final byte BIRTH_DAY = 2;
+    public static final byte TARGET_MONTH = 3;
+    public static final byte TARGET_DAY = 4;
+    public static final byte BIRTH_TOO_EARLY = 5;
+    public static final byte BIRTH_AFTER_TARGET = 6;
+
+    private static final String[] MESSAGES = {
+            "Valid",
+            "The birth month must be from 1 to 12",
+            "The birth month does not have that day",
+            "The target month must be from 1 to 12",
+            "The target month does not have that day",
+            "The birth year cannot be before " + BiorhythmDates.MIN_BIRTH_YEAR,
+            "The birthdate cannot be after the target date"};
+
+    // Length of each month outside leap years; index 0 is unused so the month can be used as the index directly
+    private static final int[] DAYS_PER_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private DateValidator()
+    {
+    }
+
+    // A sentence describing a reason code, for error messages
+    public static String message(byte reason)
+    {
+        return MESSAGES[reason];
+    }
+
+    // VALID if the numbers make a real date, otherwise BIRTH_MONTH or BIRTH_DAY
+    public static byte checkDate(int day, int month, int year)
+    {
+        // One unsigned comparison checks both ends of the range
+        if (Integer.compareUnsigned(month - 1, 12) >= 0)
+            return BIRTH_MONTH;
+
+        return Integer.compareUnsigned(day - 1, monthLength(month, year)) >= 0 ? BIRTH_DAY : VALID;
+    }
+
+    // The reason code of one birthdate and target date
+    public static byte checkRow(int bDay, int bMonth, int bYear, int tDay, int tMonth, int tYear)
+    {
+        byte reason = checkDate(bDay, bMonth, bYear);
+        if (reason != VALID)
+            return reason;
+
+        reason = checkDate(tDay, tMonth, tYear);
+        if (reason != VALID)
+            return (byte) (reason + TARGET_MONTH - BIRTH_MONTH);
+
+        if (bYear < BiorhythmDates.MIN_BIRTH_YEAR)
+            return BIRTH_TOO_EARLY;
+
+        // Year, then month, then day; packing the dates into one number would overflow for very large years
+        boolean birthAfterTarget = bYear > tYear ||
+                (bYear == tYear && (bMonth > tMonth || (bMonth == tMonth && bDay > tDay)));
+
+        return birthAfterTarget ? BIRTH_AFTER_TARGET : VALID;
+    }
+
+    // Checks every row of the columns, writes each row's reason code to 'reasons' and returns the rows that are invalid
+    public static BitSet validate(int[] bDays, int[] bMonths, int[] bYears, int[] tDays, int[] tMonths, int[] tYears, byte[] reasons)
+    {
+        int rows = bDays.length;
+        if (bMonths.length != rows || bYears.length != rows || tDays.length != rows || tMonths.length != rows || tYears.length != rows || reasons.length < rows)
+            throw new IllegalArgumentException("Every column needs one value per row, and 'reasons' room for every row");
+
+        // The bits are collected in plain longs and turned into a BitSet once at the end
+        long[] words = new long[(rows + 63) >>> 6];
+
+        for (int i = 0; i < rows; i++)
+        {
+            byte reason = checkRow(bDays[i], bMonths[i], bYears[i], tDays[i], tMonths[i], tYears[i]);
+            reasons[i] = reason;
+            words[i >>> 6] |= (reason != VALID ? 1L : 0L) << i;
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    // Checks a single column of dates, for example birthdates that will be compared against today's date
+    public static BitSet validate(int[] days, int[] months, int[] years, byte[] reasons)
+    {
+        int rows = days.length;
+        if (months.length != rows || years.length != rows || reasons.length < rows)
+            throw new IllegalArgumentException("Every column needs one value per row, and 'reasons' room for every row");
+
+        long[] words = new long[(rows + 63) >>> 6];
+
+        for (int i = 0; i < rows; i++)
+        {
+            byte reason = checkDate(days[i], months[i], years[i]);
+            reasons[i] = reason;
+            words[i >>> 6] |= (reason != VALID ? 1L : 0L) << i;
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    private static int monthLength(int month, int year)
+    {
+        return month == 2 && BiorhythmDates.isLeapYear(year) ? 29 : DAYS_PER_MONTH[month];
+    }
+}
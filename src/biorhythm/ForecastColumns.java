@@ -0,0 +1,436 @@
+package biorhythm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Forecasts stored column by column in a binary file, for analytics tools that want numbers rather than a table or a chart
+// Every forecast appended to the file becomes one block, and each block keeps its columns apart, so a reader that only needs
+// one cycle reads only that cycle's bytes
+//
+// Usage: java biorhythm.ForecastColumns append <file> <birth day> <month> <year> <target day> <month> <year> <days>
+//        java biorhythm.ForecastColumns info <file>
+//        java biorhythm.ForecastColumns column <file> <epochDay | physical | emotional | intellectual>
+//
+// File layout (little-endian):
+//   header: magic "BIOF", version, then padding up to FILE_HEADER_BYTES
+//   blocks: magic "BLCK", birth epoch day, first target epoch day, number of rows, padding up to BLOCK_HEADER_BYTES,
+//           then the columns one after another: epoch day (int), physical, emotional, intellectual (float), 4 bytes per row each
+//
+// A block's header is written after its columns, so a write that was cut short leaves a tail without a valid header;
+// readers ignore that tail and the next append writes over it
+public final class ForecastColumns implements Closeable
+{
+    static final int MAGIC = 0x464F4942; // "BIOF" read as a little-endian int
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 16;
+
+    static final int BLOCK_MAGIC = 0x4B434C42; // "BLCK" read as a little-endian int
+    static final int BLOCK_HEADER_BYTES = 32;
+
+    // Columns of a block, in the order they are stored; the cycle columns follow CycleTable's cycle numbers
+    public static final int EPOCH_DAY = 0;
+    public static final int PHYSICAL = 1 + CycleTable.PHYSICAL;
+    public static final int EMOTIONAL = 1 + CycleTable.EMOTIONAL;
+    public static final int INTELLECTUAL = 1 + CycleTable.INTELLECTUAL;
+    static final int COLUMNS = 4;
+    static final int VALUE_BYTES = 4;
+
+    private static final String[] COLUMN_NAMES = {"epochDay", "physical", "emotional", "intellectual"};
+
+    // Longest forecast one append writes (about 273 years, like the server's range limit), so a block stays a few MB and
+    // every epoch day and day difference in it fits in an int
+    public static final int MAX_DAYS = 100_000;
+
+    // Rows moved per read or write; the buffer is direct, so the channel copies nothing on the way to or from the file
+    private static final int CHUNK_ROWS = 16 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_ROWS * VALUE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    // Where each block starts, and what its header says
+    private final long[] blockOffsets;
+    private final int[] blockRows;
+    private final int[] blockBirths;
+    private final int[] blockFirstTargets;
+    private final long rows;
+
+    private ForecastColumns(FileChannel channel, Blocks blocks)
+    {
+        this.channel = channel;
+        this.blockOffsets = Arrays.copyOf(blocks.offsets, blocks.count);
+        this.blockRows = Arrays.copyOf(blocks.rows, blocks.count);
+        this.blockBirths = Arrays.copyOf(blocks.births, blocks.count);
+        this.blockFirstTargets = Arrays.copyOf(blocks.firstTargets, blocks.count);
+
+        long total = 0;
+        for (int count : blockRows)
+            total += count;
+        this.rows = total;
+    }
+
+    public static void main(String[] args)
+    {
+        try
+        {
+            if (args.length == 9 && args[0].equals("append"))
+            {
+                int[] numbers = new int[7];
+                for (int i = 0; i < numbers.length; i++)
+                    numbers[i] = Integer.parseInt(args[i + 2]);
+
+                byte reason = DateValidator.checkRow(numbers[0], numbers[1], numbers[2], numbers[3], numbers[4], numbers[5]);
+                if (reason != DateValidator.VALID)
+                    throw new IllegalArgumentException(DateValidator.message(reason));
+
+                int days = append(Paths.get(args[1]), BiorhythmDates.epochDay(numbers[0], numbers[1], numbers[2]),
+                        BiorhythmDates.epochDay(numbers[3], numbers[4], numbers[5]), numbers[6]);
+                System.out.println("Appended " + days + " days to " + args[1]);
+            }
+            else if (args.length == 2 && args[0].equals("info"))
+            {
+                try (ForecastColumns file = open(Paths.get(args[1])))
+                {
+                    System.out.println(file.blockCount() + " block(s), " + file.rows() + " row(s)");
+                    for (int block = 0; block < file.blockCount(); block++)
+                        System.out.println("  block " + block + ": birth " + formatDate(file.birthEpochDay(block)) + ", from " + formatDate(file.firstTargetEpochDay(block)) + ", " + file.blockRows(block) + " days");
+                }
+            }
+            else if (args.length == 3 && args[0].equals("column"))
+            {
+                int column = Arrays.asList(COLUMN_NAMES).indexOf(args[2]);
+                if (column < 0)
+                    throw new IllegalArgumentException("Unknown column " + args[2]);
+
+                try (ForecastColumns file = open(Paths.get(args[1])))
+                {
+                    StringBuilder text = new StringBuilder();
+
+                    if (column == EPOCH_DAY)
+                    {
+                        for (int day : file.readEpochDays())
+                            text.append(day).append('\n');
+                    }
+                    else
+                    {
+                        for (float value : file.readCycle(column - 1))
+                            text.append(value).append('\n');
+                    }
+
+                    System.out.print(text);
+                }
+            }
+            else
+            {
+                System.err.println("Usage: append <file> <birth day> <month> <year> <target day> <month> <year> <days> | info <file> | column <file> <column>");
+                System.exit(2);
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            System.err.println("Forecast columns failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Appends the forecast of 'days' days from 'firstTargetEpochDay' for someone born on 'birthEpochDay', creating the file if needed
+    // Returns the number of rows written; the block is synced to disk before its header is written
+    public static int append(Path file, int birthEpochDay, int firstTargetEpochDay, int days) throws IOException
+    {
+        return append(file, birthEpochDay, firstTargetEpochDay, days, true);
+    }
+
+    // As above; without 'sync' the block is left to the operating system, which is faster, but after a crash the header may
+    // reach the disk before the columns
+    public static int append(Path file, int birthEpochDay, int firstTargetEpochDay, int days, boolean sync) throws IOException
+    {
+        if (days < 1 || days > MAX_DAYS)
+            throw new IllegalArgumentException("A forecast needs from 1 to " + MAX_DAYS + " days, was " + days);
+
+        if ((long) firstTargetEpochDay + days > Integer.MAX_VALUE || (long) firstTargetEpochDay - birthEpochDay + days > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The forecast ends too far in the future");
+
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            long position;
+
+            if (out.size() == 0)
+            {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION);
+                header.clear();
+                write(out, header, 0);
+                position = FILE_HEADER_BYTES;
+            }
+            else
+            {
+                // Anything after the last complete block is left over from an interrupted append
+                position = scan(out).end;
+                out.truncate(position);
+            }
+
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_ROWS * VALUE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long columnStart = position + BLOCK_HEADER_BYTES;
+            long columnBytes = (long) days * VALUE_BYTES;
+
+            for (int column = 0; column < COLUMNS; column++)
+            {
+                for (int from = 0; from < days; from += CHUNK_ROWS)
+                {
+                    int to = Math.min(days, from + CHUNK_ROWS);
+                    chunk.clear();
+
+                    if (column == EPOCH_DAY)
+                    {
+                        for (int row = from; row < to; row++)
+                            chunk.putInt(firstTargetEpochDay + row);
+                    }
+                    else
+                    {
+                        int cycle = column - 1;
+                        int dayDifference = firstTargetEpochDay - birthEpochDay;
+
+                        for (int row = from; row < to; row++)
+                            chunk.putFloat((float) CycleTable.wholeDay(cycle, dayDifference + row));
+                    }
+
+                    chunk.flip();
+                    write(out, chunk, columnStart + column * columnBytes + (long) from * VALUE_BYTES);
+                }
+            }
+
+            // The header goes last, once the columns are on disk, so a block is never seen half written
+            if (sync)
+                out.force(false);
+
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(BLOCK_MAGIC).putInt(birthEpochDay).putInt(firstTargetEpochDay).putInt(days);
+            header.clear();
+            write(out, header, position);
+        }
+
+        return days;
+    }
+
+    // Opens a file for reading; the header of every block is read up front, but no column is read until it is asked for
+    public static ForecastColumns open(Path file) throws IOException
+    {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try
+        {
+            return new ForecastColumns(channel, scan(channel));
+        }
+        catch (IOException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int blockCount()
+    {
+        return blockOffsets.length;
+    }
+
+    // Rows in all blocks together
+    public long rows()
+    {
+        return rows;
+    }
+
+    public int blockRows(int block)
+    {
+        return blockRows[block];
+    }
+
+    public int birthEpochDay(int block)
+    {
+        return blockBirths[block];
+    }
+
+    public int firstTargetEpochDay(int block)
+    {
+        return blockFirstTargets[block];
+    }
+
+    // The target dates of every row of every block, as epoch days
+    public int[] readEpochDays() throws IOException
+    {
+        int[] values = new int[checkedRows()];
+        int filled = 0;
+
+        for (int block = 0; block < blockOffsets.length; block++)
+        {
+            long position = columnOffset(block, EPOCH_DAY);
+
+            for (int from = 0; from < blockRows[block]; from += CHUNK_ROWS)
+            {
+                int count = Math.min(CHUNK_ROWS, blockRows[block] - from);
+                readChunk(position + (long) from * VALUE_BYTES, count);
+                chunk.asIntBuffer().get(values, filled, count);
+                filled += count;
+            }
+        }
+
+        return values;
+    }
+
+    // One cycle (CycleTable.PHYSICAL, EMOTIONAL or INTELLECTUAL) of every row of every block; the other columns are not read
+    public float[] readCycle(int cycle) throws IOException
+    {
+        if (cycle < 0 || cycle >= COLUMNS - 1)
+            throw new IllegalArgumentException("There is no cycle " + cycle);
+
+        float[] values = new float[checkedRows()];
+        int filled = 0;
+
+        for (int block = 0; block < blockOffsets.length; block++)
+        {
+            long position = columnOffset(block, 1 + cycle);
+
+            for (int from = 0; from < blockRows[block]; from += CHUNK_ROWS)
+            {
+                int count = Math.min(CHUNK_ROWS, blockRows[block] - from);
+                readChunk(position + (long) from * VALUE_BYTES, count);
+                chunk.asFloatBuffer().get(values, filled, count);
+                filled += count;
+            }
+        }
+
+        return values;
+    }
+
+    // One cycle of one block, memory-mapped instead of read, so nothing is copied until the values are used
+    public FloatBuffer mapCycle(int block, int cycle) throws IOException
+    {
+        if (cycle < 0 || cycle >= COLUMNS - 1)
+            throw new IllegalArgumentException("There is no cycle " + cycle);
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, columnOffset(block, 1 + cycle), (long) blockRows[block] * VALUE_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    private long columnOffset(int block, int column)
+    {
+        return blockOffsets[block] + BLOCK_HEADER_BYTES + (long) column * blockRows[block] * VALUE_BYTES;
+    }
+
+    private int checkedRows()
+    {
+        if (rows > Integer.MAX_VALUE)
+            throw new IllegalStateException("The file has too many rows to read into one array: " + rows);
+
+        return (int) rows;
+    }
+
+    // Reads 'count' values starting at 'position' into the chunk buffer, leaving it ready to be read from
+    private void readChunk(long position, int count) throws IOException
+    {
+        chunk.clear().limit(count * VALUE_BYTES);
+
+        while (chunk.hasRemaining())
+        {
+            if (channel.read(chunk, position + chunk.position()) < 0)
+                throw new IOException("The file ended in the middle of a block");
+        }
+
+        chunk.flip();
+    }
+
+    // The blocks found in a file, and where the last complete one ends
+    private static final class Blocks
+    {
+        long[] offsets = new long[16];
+        int[] rows = new int[16];
+        int[] births = new int[16];
+        int[] firstTargets = new int[16];
+        int count;
+        long end = FILE_HEADER_BYTES;
+
+        void add(long offset, int rowCount, int birth, int firstTarget)
+        {
+            if (count == offsets.length)
+            {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                rows = Arrays.copyOf(rows, count * 2);
+                births = Arrays.copyOf(births, count * 2);
+                firstTargets = Arrays.copyOf(firstTargets, count * 2);
+            }
+
+            offsets[count] = offset;
+            rows[count] = rowCount;
+            births[count] = birth;
+            firstTargets[count] = firstTarget;
+            count++;
+            end = offset + BLOCK_HEADER_BYTES + (long) rowCount * COLUMNS * VALUE_BYTES;
+        }
+    }
+
+    // Checks the file header and walks the block headers up to the first one that is missing or does not fit in the file
+    private static Blocks scan(FileChannel channel) throws IOException
+    {
+        long size = channel.size();
+        if (size < FILE_HEADER_BYTES)
+            throw new IOException("Not a forecast column file: the file is too short");
+
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.limit(FILE_HEADER_BYTES);
+        read(channel, header, 0);
+
+        if (header.getInt(0) != MAGIC)
+            throw new IOException("Not a forecast column file: wrong magic number");
+        if (header.getInt(4) != VERSION)
+            throw new IOException("Unsupported forecast column file version " + header.getInt(4));
+
+        Blocks blocks = new Blocks();
+
+        while (blocks.end + BLOCK_HEADER_BYTES <= size)
+        {
+            header.clear();
+            read(channel, header, blocks.end);
+
+            int rowCount = header.getInt(12);
+            if (header.getInt(0) != BLOCK_MAGIC || rowCount < 1 || blocks.end + BLOCK_HEADER_BYTES + (long) rowCount * COLUMNS * VALUE_BYTES > size)
+                break;
+
+            blocks.add(blocks.end, rowCount, header.getInt(4), header.getInt(8));
+        }
+
+        return blocks;
+    }
+
+    private static String formatDate(int epochDay)
+    {
+        int date = BiorhythmDates.toYearMonthDay(epochDay);
+        return String.format("%04d-%02d-%02d", date / 10000, date / 100 % 100, date % 100);
+    }
+
+    private static void read(FileChannel in, ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (in.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("The file ended unexpectedly");
+        }
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+            out.write(buffer, position + buffer.position());
+    }
+}
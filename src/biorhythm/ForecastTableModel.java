@@ -0,0 +1,176 @@
+package biorhythm;
+
+import javax.swing.table.AbstractTableModel;
+
+// Table model for the results table: one row per day of the forecast, starting at the target date
+// Only the birthdate, first day and number of days are stored; rows are calculated when the table asks for them,
+// so memory use stays the same however many years the forecast covers, and only the visible rows are ever calculated
+// Rows are calculated a page at a time into double columns, together with the boxed values and date text JTable asks for,
+// so repainting the visible rows neither recalculates nor allocates anything
+@SuppressWarnings("serial")
+public class ForecastTableModel extends AbstractTableModel
+{
+    private static final String[] COLUMNS = {"Date",
+            "<html><font color='red'>Physical</font><html>",
+            "<html><font color='blue'>Emotional</font><html>",
+            "<html><font color='green'>Intellectual</font><html>"};
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    // Rows per page, and pages kept; a page is cached at (page number % CACHED_PAGES), so neighbouring pages never replace each other
+    private static final int PAGE_ROWS = 64;
+    private static final int CACHED_PAGES = 4;
+
+    // The rows from 'first' on, or nothing when 'first' is -1
+    private static final class Page
+    {
+        int first = -1;
+        final String[] dates = new String[PAGE_ROWS];
+        final double[][] values = new double[CycleTable.PERIODS.length][PAGE_ROWS];
+        final Double[][] boxed = new Double[CycleTable.PERIODS.length][PAGE_ROWS];
+    }
+
+    private final Page[] pages = new Page[CACHED_PAGES];
+
+    private int birthEpochDay;
+    private int startEpochDay;
+
+    // Fraction of a day added to every row's age when the time of birth is known (see PreciseBiorhythm); 0 for whole days
+    private double dayOffset;
+
+    // Number of days in the forecast; 0 means nothing has been calculated yet, and a single empty row is shown
+    private int days;
+
+    public void setForecast(int birthEpochDay, int startEpochDay, int days)
+    {
+        setForecast(birthEpochDay, startEpochDay, days, 0);
+    }
+
+    // Like the one above, with 'dayOffset' added to every row's age in whole days, so each row is exactly 24 hours after the one before
+    public void setForecast(int birthEpochDay, int startEpochDay, int days, double dayOffset)
+    {
+        if (days < 1)
+            throw new IllegalArgumentException("A forecast needs at least one day, was " + days);
+
+        this.birthEpochDay = birthEpochDay;
+        this.startEpochDay = startEpochDay;
+        this.days = days;
+        this.dayOffset = dayOffset;
+        clearPages();
+        fireTableDataChanged();
+    }
+
+    // Goes back to the single empty row shown before anything is calculated
+    public void clear()
+    {
+        days = 0;
+        clearPages();
+        fireTableDataChanged();
+    }
+
+    public boolean isEmpty()
+    {
+        return days == 0;
+    }
+
+    @Override
+    public int getRowCount()
+    {
+        return Math.max(days, 1);
+    }
+
+    @Override
+    public int getColumnCount()
+    {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column)
+    {
+        return COLUMNS[column];
+    }
+
+    // The date column holds text, the cycle columns hold numbers
+    @Override
+    public Class<?> getColumnClass(int column)
+    {
+        return column == 0 ? String.class : Double.class;
+    }
+
+    // Restricts the user from editing the table
+    @Override
+    public boolean isCellEditable(int row, int column)
+    {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column)
+    {
+        if (days == 0)
+            return null;
+
+        Page page = page(row);
+        return column == 0 ? page.dates[row - page.first] : page.boxed[column - 1][row - page.first];
+    }
+
+    // The value of one cycle (CycleTable.PHYSICAL, ...) in a row, without boxing; only valid when the table is not empty
+    public double getCycleValue(int row, int cycle)
+    {
+        Page page = page(row);
+        return page.values[cycle][row - page.first];
+    }
+
+    // The page holding the row, calculated first if it is not cached
+    private Page page(int row)
+    {
+        int first = row - row % PAGE_ROWS;
+        int slot = (row / PAGE_ROWS) % CACHED_PAGES;
+
+        Page page = pages[slot];
+        if (page == null)
+            page = pages[slot] = new Page();
+
+        if (page.first != first)
+            fill(page, first);
+
+        return page;
+    }
+
+    private void fill(Page page, int first)
+    {
+        int rows = Math.min(PAGE_ROWS, days - first);
+
+        for (int i = 0; i < rows; i++)
+        {
+            int epochDay = startEpochDay + first + i;
+
+            int date = BiorhythmDates.toYearMonthDay(epochDay);
+            page.dates[i] = (date % 100) + " " + MONTHS[date / 100 % 100 - 1] + " " + (date / 10000);
+
+            for (int cycle = 0; cycle < page.values.length; cycle++)
+            {
+                double value = dayOffset == 0 ? CycleTable.wholeDay(cycle, epochDay - birthEpochDay)
+                        : CycleTable.exact(cycle, epochDay - birthEpochDay + dayOffset);
+
+                // Rounded to four decimal places, like the single row the table used to have
+                value = (double) Math.round(value * 10000) / 10000;
+
+                page.values[cycle][i] = value;
+                page.boxed[cycle][i] = value;
+            }
+        }
+
+        page.first = first;
+    }
+
+    private void clearPages()
+    {
+        for (Page page : pages)
+        {
+            if (page != null)
+                page.first = -1;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package biorhythm;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+
+// Calculates a biorhythm and the points of its graph away from the Swing event thread
+// The cycles are sampled one after another; between them the worker reports its progress and stops early if it was cancelled,
+// for example because the user pressed Calculate again before it had finished
+public class ForecastWorker extends SwingWorker<ForecastWorker.Result, Void>
+{
+    // Everything the window needs to show the result, handed back on the event thread
+    static final class Result
+    {
+        final ForecastWorker source;
+        final BiorhythmResult biorhythm;
+        final double dayOffset;
+        final AdaptiveCycleDataset.Samples samples;
+
+        Result(ForecastWorker source, BiorhythmResult biorhythm, double dayOffset, AdaptiveCycleDataset.Samples samples)
+        {
+            this.source = source;
+            this.biorhythm = biorhythm;
+            this.dayOffset = dayOffset;
+            this.samples = samples;
+        }
+    }
+
+    private final int bDay;
+    private final int bMonthNum;
+    private final int bYear;
+    private final int tDay;
+    private final int tMonthNum;
+    private final int tYear;
+    private final int days;
+    private final double dayOffset;
+    private final int pixelWidth;
+    private final int pixelHeight;
+    private final Consumer<Result> onDone;
+
+    // 'dayOffset' is the fraction of a day the exact age differs from the whole-day age when the time of birth is known, otherwise 0
+    // The graph is sampled for a plot area of 'pixelWidth' by 'pixelHeight'
+    // 'onDone' is called on the event thread, and only if the worker finished without being cancelled
+    ForecastWorker(int bDay, int bMonthNum, int bYear, int tDay, int tMonthNum, int tYear, int days, double dayOffset, int pixelWidth, int pixelHeight, Consumer<Result> onDone)
+    {
+        this.bDay = bDay;
+        this.bMonthNum = bMonthNum;
+        this.bYear = bYear;
+        this.tDay = tDay;
+        this.tMonthNum = tMonthNum;
+        this.tYear = tYear;
+        this.days = days;
+        this.dayOffset = dayOffset;
+        this.pixelWidth = pixelWidth;
+        this.pixelHeight = pixelHeight;
+        this.onDone = onDone;
+    }
+
+    @Override
+    protected Result doInBackground()
+    {
+        BiorhythmMetrics.Span span = BiorhythmMetrics.start(BiorhythmMetrics.Stage.FORECAST);
+        try
+        {
+            // BiorhythmCore keeps no state, so it is safe to call from this background thread
+            BiorhythmResult biorhythm = BiorhythmCore.calculate(bDay, bMonthNum, bYear, tDay, tMonthNum, tYear);
+            double dayDifference = biorhythm.dayDifference + dayOffset;
+
+            AdaptiveCycleDataset.Samples samples = new AdaptiveCycleDataset.Samples(dayDifference, days, 0, days, pixelWidth);
+            double valuePerPixel = AdaptiveCycleDataset.VALUE_RANGE / pixelHeight;
+
+            for (int cycle = 0; cycle < samples.counts.length; cycle++)
+            {
+                if (isCancelled())
+                    return null;
+
+                samples.counts[cycle] = AdaptiveCycleDataset.sampleCycle(cycle, dayDifference, 0, days, samples.x[cycle].length, valuePerPixel, samples.x[cycle], samples.y[cycle]);
+
+                // SwingWorker merges progress updates, so the event thread sees at most one per repaint
+                setProgress((cycle + 1) * 100 / samples.counts.length);
+            }
+
+            return new Result(this, biorhythm, dayOffset, samples);
+        }
+        finally
+        {
+            span.close();
+        }
+    }
+
+    @Override
+    protected void done()
+    {
+        if (isCancelled())
+            return;
+
+        try
+        {
+            onDone.accept(get());
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            JOptionPane.showMessageDialog(null, "The biorhythm could not be calculated!", "Error!", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package biorhythm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Spreads the work of BiorhythmEngine across all cores using fork/join splitting
+// Each result is written at the index of its input pair, so the output stays in input order
+public final class ParallelBiorhythmEngine
+{
+    // Pairs below this size are scored in a single task instead of being split further
+    public static final int DEFAULT_THRESHOLD = 16384;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    // Uses the common pool, which has one worker per core
+    public ParallelBiorhythmEngine()
+    {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelBiorhythmEngine(ForkJoinPool pool, int threshold)
+    {
+        if (pool == null)
+            throw new IllegalArgumentException("The pool cannot be null");
+        if (threshold < 1)
+            throw new IllegalArgumentException("The split threshold must be at least 1, was " + threshold);
+
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public ForkJoinPool getPool()
+    {
+        return pool;
+    }
+
+    public int getThreshold()
+    {
+        return threshold;
+    }
+
+    // Scores every pair of the two epoch-day arrays, blocking until all of them are done
+    public void evaluate(int[] birthEpochDays, int[] targetEpochDays, double[] physical, double[] emotional, double[] intellectual)
+    {
+        int length = birthEpochDays.length;
+
+        // Rejects arrays that are too short before any task is started
+        BiorhythmEngine.checkRange(length, targetEpochDays.length, physical.length, emotional.length, intellectual.length, 0, length);
+
+        pool.invoke(new ScoreTask(birthEpochDays, targetEpochDays, physical, emotional, intellectual, 0, length, threshold));
+    }
+
+    // Halves its range until it is small enough, then scores it with the sequential engine
+    @SuppressWarnings("serial")
+    private static final class ScoreTask extends RecursiveAction
+    {
+        private final int[] birthEpochDays;
+        private final int[] targetEpochDays;
+        private final double[] physical;
+        private final double[] emotional;
+        private final double[] intellectual;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ScoreTask(int[] birthEpochDays, int[] targetEpochDays, double[] physical, double[] emotional, double[] intellectual, int from, int to, int threshold)
+        {
+            this.birthEpochDays = birthEpochDays;
+            this.targetEpochDays = targetEpochDays;
+            this.physical = physical;
+            this.emotional = emotional;
+            this.intellectual = intellectual;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= threshold)
+            {
+                BiorhythmEngine.evaluate(birthEpochDays, targetEpochDays, physical, emotional, intellectual, from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+
+            invokeAll(new ScoreTask(birthEpochDays, targetEpochDays, physical, emotional, intellectual, from, middle, threshold),
+                    new ScoreTask(birthEpochDays, targetEpochDays, physical, emotional, intellectual, middle, to, threshold));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package biorhythm;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// Minimal PNG encoder for the bulk chart renderer; one instance per thread, reused for every image
+// ImageIO's PNG writer tries every row filter on every row, which makes it several times slower on chart-sized images;
+// this one always uses filter "None" and a reused Deflater, and produces files of about the same size
+final class PngEncoder
+{
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    // Deflate level 4 gives files as small as ImageIO's in about half the time of the default level
+    private static final int LEVEL = 4;
+
+    private final Deflater deflater = new Deflater(LEVEL);
+    private final CRC32 crc = new CRC32();
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(32 * 1024);
+    private final byte[] compressed = new byte[16 * 1024];
+    private byte[] row = new byte[0];
+
+    // Feeds whatever is written to it into the CRC, since ByteArrayOutputStream cannot show its bytes without copying them
+    private final OutputStream crcInput = new OutputStream()
+    {
+        @Override
+        public void write(int b)
+        {
+            crc.update(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            crc.update(b, off, len);
+        }
+    };
+
+    // Writes the image, which must be of TYPE_3BYTE_BGR, as an 8-bit RGB PNG
+    void write(BufferedImage image, OutputStream out) throws IOException
+    {
+        if (image.getType() != BufferedImage.TYPE_3BYTE_BGR)
+            throw new IllegalArgumentException("Only TYPE_3BYTE_BGR images can be encoded, was type " + image.getType());
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+
+        out.write(SIGNATURE);
+
+        chunk.reset();
+        writeInt(chunk, width);
+        writeInt(chunk, height);
+        chunk.write(8); // bits per sample
+        chunk.write(2); // colour type: RGB
+        chunk.write(0); // compression: deflate
+        chunk.write(0); // filter method
+        chunk.write(0); // no interlacing
+        writeChunk(out, "IHDR");
+
+        // Every row starts with its filter type (0, "None") followed by the pixels as RGB
+        if (row.length != 1 + width * 3)
+            row = new byte[1 + width * 3];
+
+        chunk.reset();
+        deflater.reset();
+
+        for (int y = 0; y < height; y++)
+        {
+            int offset = y * width * 3;
+
+            for (int x = 0; x < width; x++)
+            {
+                int from = offset + x * 3;
+                int to = 1 + x * 3;
+
+                row[to] = pixels[from + 2];
+                row[to + 1] = pixels[from + 1];
+                row[to + 2] = pixels[from];
+            }
+
+            deflater.setInput(row);
+            while (!deflater.needsInput())
+                chunk.write(compressed, 0, deflater.deflate(compressed));
+        }
+
+        deflater.finish();
+        while (!deflater.finished())
+            chunk.write(compressed, 0, deflater.deflate(compressed));
+
+        writeChunk(out, "IDAT");
+
+        chunk.reset();
+        writeChunk(out, "IEND");
+    }
+
+    // Writes the contents of 'chunk' as a PNG chunk: length, type, data and the CRC of type and data
+    private void writeChunk(OutputStream out, String type) throws IOException
+    {
+        byte[] typeBytes = {(byte) type.charAt(0), (byte) type.charAt(1), (byte) type.charAt(2), (byte) type.charAt(3)};
+
+        writeInt(out, chunk.size());
+        out.write(typeBytes);
+        chunk.writeTo(out);
+
+        crc.reset();
+        crc.update(typeBytes);
+        chunk.writeTo(crcInput);
+
+        writeInt(out, (int) crc.getValue());
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException
+    {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
@@ -0,0 +1,163 @@
+package biorhythm;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// High-precision mode: biorhythms from a time of birth in a time zone, to the second, instead of from whole days
+// Times are given as epoch seconds (Instant.getEpochSecond()), so daylight saving changes and time zones are handled
+// once, when a local time is turned into an epoch second, and never in the loops
+// Like BiorhythmCore it keeps no state, so it can be called from any number of threads
+// The calculator window only uses epochSecond(), startOfDay() and days(); series() backs the command line below,
+// and evaluate() is for callers that score many people at once
+//
+// Usage: java biorhythm.PreciseBiorhythm <birth yyyy-mm-ddThh:mm> <time zone> <start yyyy-mm-ddThh:mm> <hours>
+//        prints one line per hour: local time, physical, emotional, intellectual
+public final class PreciseBiorhythm
+{
+    static final double SECONDS_PER_DAY = 86400;
+
+    // Samples calculated by rotation between two exact sines; keeps the rounding error of the rotation within a few 1e-12
+    private static final int RESEED = 1024;
+
+    private PreciseBiorhythm()
+    {
+    }
+
+    public static void main(String[] args)
+    {
+        if (args.length != 4)
+            usage();
+
+        try
+        {
+            ZoneId zone = ZoneId.of(args[1]);
+            long birth = LocalDateTime.parse(args[0]).atZone(zone).toEpochSecond();
+            long start = LocalDateTime.parse(args[2]).atZone(zone).toEpochSecond();
+            int hours = Integer.parseInt(args[3]);
+
+            if (hours < 1)
+                usage();
+
+            double[] physical = new double[hours];
+            double[] emotional = new double[hours];
+            double[] intellectual = new double[hours];
+            series(birth, start, 3600, hours, physical, emotional, intellectual);
+
+            StringBuilder text = new StringBuilder();
+            for (int h = 0; h < hours; h++)
+            {
+                text.append(LocalDateTime.ofInstant(Instant.ofEpochSecond(start + h * 3600L), zone)).append(',')
+                        .append(BiorhythmCore.round(physical[h])).append(',')
+                        .append(BiorhythmCore.round(emotional[h])).append(',')
+                        .append(BiorhythmCore.round(intellectual[h])).append('\n');
+            }
+            System.out.print(text);
+        }
+        catch (DateTimeException | IllegalArgumentException e)
+        {
+            System.err.println("Invalid input: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void usage()
+    {
+        System.err.println("Usage: <birth yyyy-mm-ddThh:mm> <time zone> <start yyyy-mm-ddThh:mm> <hours>   (hours from 1)");
+        System.exit(2);
+    }
+
+    // The epoch second of a local date and time in a time zone
+    // A time skipped by a daylight saving change is moved forward by the length of the gap, and a time that happens twice
+    // uses the earlier one, as java.time does
+    public static long epochSecond(int day, int month, int year, int hour, int minute, ZoneId zone)
+    {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(zone).toEpochSecond();
+    }
+
+    // The epoch second at which a day starts in a time zone (not always midnight, when a daylight saving change skips it)
+    public static long startOfDay(int epochDay, ZoneId zone)
+    {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(zone).toEpochSecond();
+    }
+
+    // Days, with their fraction, from the birth to the target time
+    // physical(), emotional() and intellectual() use exact sines (CycleTable.exact), like series(), so a moment prints the same
+    // digits whichever of them calculated it
+    public static double days(long birthEpochSecond, long targetEpochSecond)
+    {
+        return (targetEpochSecond - birthEpochSecond) / SECONDS_PER_DAY;
+    }
+
+    public static double physical(long birthEpochSecond, long targetEpochSecond)
+    {
+        return CycleTable.exact(CycleTable.PHYSICAL, days(birthEpochSecond, targetEpochSecond));
+    }
+
+    public static double emotional(long birthEpochSecond, long targetEpochSecond)
+    {
+        return CycleTable.exact(CycleTable.EMOTIONAL, days(birthEpochSecond, targetEpochSecond));
+    }
+
+    public static double intellectual(long birthEpochSecond, long targetEpochSecond)
+    {
+        return CycleTable.exact(CycleTable.INTELLECTUAL, days(birthEpochSecond, targetEpochSecond));
+    }
+
+    // Scores a population at one moment: everyone's exact age in days is worked out in one pass and the cycles are then
+    // evaluated together by BiorhythmEngine.evaluateOffsets (on SIMD lanes when the Vector API is available)
+    // 'intellectual' holds the ages until it is overwritten with its own values, so nothing is allocated
+    public static void evaluate(long[] birthEpochSeconds, long targetEpochSecond, double[] physical, double[] emotional, double[] intellectual)
+    {
+        BiorhythmEngine.checkRange(birthEpochSeconds.length, birthEpochSeconds.length, physical.length, emotional.length, intellectual.length, 0, birthEpochSeconds.length);
+
+        for (int i = 0; i < birthEpochSeconds.length; i++)
+            intellectual[i] = days(birthEpochSeconds[i], targetEpochSecond);
+
+        BiorhythmEngine.evaluateOffsets(intellectual, physical, emotional, intellectual, 0, birthEpochSeconds.length);
+    }
+
+    // Fills 'count' samples of all three cycles, 'stepSeconds' apart from 'startEpochSecond' (3600 for an hourly forecast)
+    // Evenly spaced samples of a sine are a rotation: each one follows from the one before with four multiplications,
+    // sin(a + d) = sin(a) cos(d) + cos(a) sin(d), so a sample costs about as much as a whole-day table lookup
+    // The rotation is restarted from an exact sine every RESEED samples, so rounding errors cannot build up
+    public static void series(long birthEpochSecond, long startEpochSecond, long stepSeconds, int count, double[] physical, double[] emotional, double[] intellectual)
+    {
+        BiorhythmEngine.checkRange(count, count, physical.length, emotional.length, intellectual.length, 0, count);
+
+        double start = days(birthEpochSecond, startEpochSecond);
+        double step = stepSeconds / SECONDS_PER_DAY;
+
+        double[][] values = {physical, emotional, intellectual};
+
+        for (int c = 0; c < values.length; c++)
+        {
+            double[] out = values[c];
+            int period = CycleTable.PERIODS[c];
+            double radiansPerDay = 2 * Math.PI / period;
+            double cosStep = Math.cos(radiansPerDay * step);
+            double sinStep = Math.sin(radiansPerDay * step);
+
+            for (int from = 0; from < count; from += RESEED)
+            {
+                // The phase is brought into [0, period) first, so the angle stays small and exact for any age
+                double t = start + from * step;
+                double angle = radiansPerDay * (t - Math.floor(t / period) * period);
+                double sin = Math.sin(angle);
+                double cos = Math.cos(angle);
+
+                int to = Math.min(count, from + RESEED);
+                for (int i = from; i < to; i++)
+                {
+                    out[i] = sin;
+
+                    double next = sin * cosStep + cos * sinStep;
+                    cos = cos * cosStep - sin * sinStep;
+                    sin = next;
+                }
+            }
+        }
+    }
+}
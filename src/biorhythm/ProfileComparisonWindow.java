@@ -0,0 +1,399 @@
+package biorhythm;
+
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import javax.swing.*;
+
+import org.jfree.chart.*;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+
+// Window that overlays the biorhythms of many people on one chart, for example to compare a team
+// Every person gets their own colour, and each cycle its own line style (solid physical, dashed emotional, dotted intellectual)
+// The target date and the number of days are those of the calculator window, and follow it when it calculates again
+//
+// People can be added one at a time or imported from a text file with one "name, day, month, year" line per person
+public class ProfileComparisonWindow
+{
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "June", "July", "Aug", "Sept", "Oct", "Nov", "Dec"};
+
+    // Above this many people the legend would be taller than the chart, so it is hidden and the list serves as the legend
+    private static final int MAX_LEGEND_PROFILES = 5;
+
+    private final Font smallFont = new Font("Verdana", Font.PLAIN, 14);
+
+    private final ProfileOverlayDataset dataset;
+    private final DefaultListModel<String> listModel = new DefaultListModel<>();
+    private final JList<String> list = new JList<>(listModel);
+    private final JFrame frame;
+    private final JFreeChart chart;
+    private final OverlayRenderer renderer = new OverlayRenderer();
+
+    ProfileComparisonWindow(int targetEpochDay, int days)
+    {
+        dataset = new ProfileOverlayDataset(targetEpochDay, days);
+
+        frame = new JFrame("Compare Profiles");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setLayout(new BorderLayout());
+
+        AssetCache.applyCursor(frame);
+
+        chart = ChartFactory.createXYLineChart(null, "Date (From the Target Date)", null, dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.getXYPlot().setRenderer(renderer);
+
+        ChartPanel chartPanel = new ChartPanel(chart);
+        chartPanel.setPreferredSize(new Dimension(800, 500));
+
+        // The number of points follows the size of the plot area, as in the calculator window
+        chartPanel.addComponentListener(new ComponentAdapter()
+        {
+            @Override
+            public void componentResized(ComponentEvent e)
+            {
+                Rectangle2D area = chartPanel.getScreenDataArea();
+                if (area != null && area.getWidth() >= 1)
+                    dataset.setResolution((int) area.getWidth(), (int) area.getHeight());
+                else
+                    dataset.setResolution(chartPanel.getWidth(), chartPanel.getHeight());
+            }
+        });
+
+        frame.add(initializeProfilePanel(), BorderLayout.WEST);
+        frame.add(chartPanel, BorderLayout.CENTER);
+
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+
+    boolean isShowing()
+    {
+        return frame.isDisplayable();
+    }
+
+    void toFront()
+    {
+        frame.toFront();
+    }
+
+    // Follows the calculator window to a new target date and number of days
+    void setForecast(int targetEpochDay, int days)
+    {
+        dataset.setForecast(targetEpochDay, days);
+    }
+
+    // Adds one person, for example the birthdate entered in the calculator window
+    void addProfile(String name, int day, int month, int year)
+    {
+        dataset.addProfile(name, BiorhythmDates.epochDay(day, month, year));
+        listModel.addElement(listEntry(name, day, month, year));
+        profilesChanged();
+    }
+
+    private JComponent initializeProfilePanel()
+    {
+        JPanel panel = new JPanel(new BorderLayout());
+
+        // PROFILE LIST //
+        list.setFont(smallFont);
+        list.setCellRenderer(new DefaultListCellRenderer()
+        {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus)
+            {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+
+                // Each entry is written in the colour of its lines on the chart
+                if (!isSelected)
+                    setForeground(OverlayRenderer.colour(index));
+                return this;
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setPreferredSize(new Dimension(260, 300));
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        // INPUTS //
+        JPanel inputPanel = new JPanel(new GridLayout(0, 2, 5, 5));
+
+        JTextField nameTextField = new JTextField(10);
+        JTextField dayTextField = new JTextField(3);
+        JComboBox<String> monthComboBox = new JComboBox<>(MONTHS);
+        JTextField yearTextField = new JTextField(5);
+
+        inputPanel.add(new JLabel("Name"));
+        inputPanel.add(nameTextField);
+        inputPanel.add(new JLabel("Day"));
+        inputPanel.add(dayTextField);
+        inputPanel.add(new JLabel("Month"));
+        inputPanel.add(monthComboBox);
+        inputPanel.add(new JLabel("Year"));
+        inputPanel.add(yearTextField);
+
+        JButton addBtn = new JButton("Add");
+        JButton removeBtn = new JButton("Remove");
+        JButton importBtn = new JButton("Import...");
+        JButton clearBtn = new JButton("Clear");
+
+        addBtn.addActionListener(e -> {
+            try
+            {
+                int day = Integer.parseInt(dayTextField.getText().trim());
+                int month = monthComboBox.getSelectedIndex() + 1;
+                int year = Integer.parseInt(yearTextField.getText().trim());
+
+                if (!isSupportedBirthdate(day, month, year))
+                    throw new NumberFormatException();
+
+                String name = nameTextField.getText().trim();
+                addProfile(name.isEmpty() ? "Person " + (dataset.getProfileCount() + 1) : name, day, month, year);
+                nameTextField.setText("");
+            }
+            catch (NumberFormatException exception)
+            {
+                JOptionPane.showMessageDialog(frame, "Invalid Input Entered!", "Error!", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        removeBtn.addActionListener(e -> {
+            // Removed from the end, so the positions of the other selected entries do not move
+            // The chart is only redrawn once, after the last one
+            int[] selected = list.getSelectedIndices();
+            chart.setNotify(false);
+            for (int i = selected.length - 1; i >= 0; i--)
+            {
+                dataset.removeProfile(selected[i]);
+                listModel.remove(selected[i]);
+            }
+            chart.setNotify(true);
+            profilesChanged();
+        });
+
+        importBtn.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(frame) == JFileChooser.APPROVE_OPTION)
+                importProfiles(chooser.getSelectedFile());
+        });
+
+        clearBtn.addActionListener(e -> {
+            dataset.clear();
+            listModel.clear();
+            profilesChanged();
+        });
+
+        JPanel buttonPanel = new JPanel(new GridLayout(0, 2, 5, 5));
+        buttonPanel.add(addBtn);
+        buttonPanel.add(removeBtn);
+        buttonPanel.add(importBtn);
+        buttonPanel.add(clearBtn);
+
+        // CYCLES //
+        JPanel cyclePanel = new JPanel(new GridLayout(0, 1));
+        String[] cycleNames = {"Physical (solid)", "Emotional (dashed)", "Intellectual (dotted)"};
+        for (int cycle = 0; cycle < cycleNames.length; cycle++)
+        {
+            int c = cycle;
+            JCheckBox checkBox = new JCheckBox(cycleNames[cycle], true);
+            checkBox.addActionListener(e -> {
+                renderer.cycleVisible[c] = checkBox.isSelected();
+                chart.fireChartChanged();
+            });
+            cyclePanel.add(checkBox);
+        }
+
+        JPanel southPanel = new JPanel(new BorderLayout(0, 10));
+        southPanel.add(inputPanel, BorderLayout.NORTH);
+        southPanel.add(buttonPanel, BorderLayout.CENTER);
+        southPanel.add(cyclePanel, BorderLayout.SOUTH);
+        panel.add(southPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    // Reads one "name, day, month, year" line per person; empty lines and lines starting with '#' are skipped
+    // The dates are collected into columns and checked by DateValidator in one pass, and every valid person is added
+    // in one go, so the chart is only redrawn once however many people the file holds
+    private void importProfiles(File file)
+    {
+        List<String> names = new ArrayList<>();
+        int[][] columns = new int[3][64];
+        int rows = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+
+                if (rows == columns[0].length)
+                {
+                    for (int c = 0; c < columns.length; c++)
+                        columns[c] = Arrays.copyOf(columns[c], rows * 2);
+                }
+
+                // A line that cannot be read gets month 0, which the validator rejects along with the impossible dates
+                String[] fields = line.split(",");
+                names.add(fields[0].trim());
+                columns[1][rows] = 0;
+
+                if (fields.length == 4)
+                {
+                    // The month is read last, so it stays 0 if any of the numbers cannot be read
+                    try
+                    {
+                        columns[0][rows] = Integer.parseInt(fields[1].trim());
+                        columns[2][rows] = Integer.parseInt(fields[3].trim());
+                        columns[1][rows] = Integer.parseInt(fields[2].trim());
+                    }
+                    catch (NumberFormatException exception)
+                    {
+                        // Skipped below, with the other invalid lines
+                    }
+                }
+
+                rows++;
+            }
+        }
+        catch (IOException e)
+        {
+            JOptionPane.showMessageDialog(frame, "Could not read file!", "Error!", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Every birthdate is checked against the target date shown in the chart
+        int target = BiorhythmDates.toYearMonthDay(dataset.getTargetEpochDay());
+        int[] targetDays = new int[rows];
+        int[] targetMonths = new int[rows];
+        int[] targetYears = new int[rows];
+        Arrays.fill(targetDays, target % 100);
+        Arrays.fill(targetMonths, target / 100 % 100);
+        Arrays.fill(targetYears, target / 10000);
+
+        BitSet invalid = DateValidator.validate(Arrays.copyOf(columns[0], rows), Arrays.copyOf(columns[1], rows), Arrays.copyOf(columns[2], rows),
+                targetDays, targetMonths, targetYears, new byte[rows]);
+
+        int valid = rows - invalid.cardinality();
+        String[] validNames = new String[valid];
+        int[] birthEpochDays = new int[valid];
+        List<String> entries = new ArrayList<>(valid);
+
+        for (int row = invalid.nextClearBit(0), i = 0; row < rows; row = invalid.nextClearBit(row + 1), i++)
+        {
+            validNames[i] = names.get(row);
+            birthEpochDays[i] = BiorhythmDates.epochDay(columns[0][row], columns[1][row], columns[2][row]);
+            entries.add(listEntry(validNames[i], columns[0][row], columns[1][row], columns[2][row]));
+        }
+
+        dataset.addProfiles(validNames, birthEpochDays);
+        listModel.addAll(entries);
+        profilesChanged();
+
+        if (valid < rows)
+            JOptionPane.showMessageDialog(frame, (rows - valid) + " line(s) could not be read and were skipped.", "Import", JOptionPane.WARNING_MESSAGE);
+    }
+
+    // A real date that is not before MIN_BIRTH_YEAR and not after the target date
+    private boolean isSupportedBirthdate(int day, int month, int year)
+    {
+        int target = BiorhythmDates.toYearMonthDay(dataset.getTargetEpochDay());
+
+        return DateValidator.checkRow(day, month, year, target % 100, target / 100 % 100, target / 10000) == DateValidator.VALID;
+    }
+
+    private void profilesChanged()
+    {
+        chart.getLegend().setVisible(dataset.getProfileCount() <= MAX_LEGEND_PROFILES);
+        list.repaint();
+    }
+
+    private static String listEntry(String name, int day, int month, int year)
+    {
+        return name + " - " + day + " " + MONTHS[month - 1] + " " + year;
+    }
+
+    // Colours the lines by person and styles them by cycle, so the colours do not need to be set again when people are removed
+    // Each series is drawn as one path, which is much faster than one line per segment once there are hundreds of series
+    @SuppressWarnings("serial")
+    static final class OverlayRenderer extends XYLineAndShapeRenderer
+    {
+        private static final Stroke[] STROKES = {
+                new BasicStroke(1.5f),
+                new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 10f, new float[] {8f, 4f}, 0f),
+                new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 10f, new float[] {2f, 3f}, 0f)};
+
+        // Which cycles are drawn, changed by the check boxes
+        final boolean[] cycleVisible = {true, true, true};
+
+        OverlayRenderer()
+        {
+            super(true, false);
+            setDrawSeriesLineAsPath(true);
+        }
+
+        // The colours of the first people are made once, since they are asked for every time a series is drawn
+        private static final Color[] COLOURS = new Color[256];
+
+        static
+        {
+            for (int profile = 0; profile < COLOURS.length; profile++)
+                COLOURS[profile] = hue(profile);
+        }
+
+        static Color colour(int profile)
+        {
+            return profile < COLOURS.length ? COLOURS[profile] : hue(profile);
+        }
+
+        // Hues one golden angle apart, so neighbouring people never get similar colours
+        private static Color hue(int profile)
+        {
+            return Color.getHSBColor((profile * 0.618034f) % 1f, 0.85f, 0.8f);
+        }
+
+        @Override
+        public Paint getItemPaint(int series, int item)
+        {
+            return colour(series / ProfileOverlayDataset.CYCLES);
+        }
+
+        @Override
+        public Paint lookupSeriesPaint(int series)
+        {
+            return colour(series / ProfileOverlayDataset.CYCLES);
+        }
+
+        @Override
+        public Stroke getItemStroke(int series, int item)
+        {
+            return STROKES[series % ProfileOverlayDataset.CYCLES];
+        }
+
+        @Override
+        public Stroke lookupSeriesStroke(int series)
+        {
+            return STROKES[series % ProfileOverlayDataset.CYCLES];
+        }
+
+        @Override
+        public boolean isSeriesVisible(int series)
+        {
+            return cycleVisible[series % ProfileOverlayDataset.CYCLES];
+        }
+    }
+}
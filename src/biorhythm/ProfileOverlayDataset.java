@@ -0,0 +1,275 @@
+package biorhythm;
+
+import java.util.Arrays;
+
+import org.jfree.data.xy.AbstractXYDataset;
+
+// Dataset behind the comparison window: the cycles of many people over the same forecast, drawn on one chart
+// Series s belongs to profile s / 3 and cycle s % 3 (physical, emotional, intellectual)
+//
+// Every profile owns three rows of plain double arrays, sampled like the main graph (see AdaptiveCycleDataset) so a row
+// never holds more points than the graph is wide
+// Changing one profile only resamples that profile; the others are recalculated only when something they all share changes
+// (the target date, the number of days or the size of the graph), and every change fires a single dataset changed event
+@SuppressWarnings("serial")
+public class ProfileOverlayDataset extends AbstractXYDataset
+{
+    static final int CYCLES = 3;
+
+    private static final String[] CYCLE_NAMES = {"Physical", "Emotional", "Intellectual"};
+
+    // Room for this many profiles before the arrays grow
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] birthEpochDays = new int[INITIAL_CAPACITY];
+
+    // Row profile * CYCLES + cycle holds the points of one series, and counts[row] how many of them are used
+    private double[][] x = new double[INITIAL_CAPACITY * CYCLES][];
+    private double[][] y = new double[INITIAL_CAPACITY * CYCLES][];
+    private int[] counts = new int[INITIAL_CAPACITY * CYCLES];
+
+    // Profiles whose rows are out of date; they are resampled by the next update
+    private boolean[] dirty = new boolean[INITIAL_CAPACITY];
+    private int profiles;
+
+    private int targetEpochDay;
+    private int days = AdaptiveCycleDataset.DEFAULT_DAYS;
+    private int pixelWidth = AdaptiveCycleDataset.DEFAULT_PIXEL_WIDTH;
+    private int pixelHeight = AdaptiveCycleDataset.DEFAULT_PIXEL_HEIGHT;
+
+    public ProfileOverlayDataset(int targetEpochDay, int days)
+    {
+        this.targetEpochDay = targetEpochDay;
+        this.days = days;
+    }
+
+    public int getProfileCount()
+    {
+        return profiles;
+    }
+
+    public String getName(int profile)
+    {
+        return names[profile];
+    }
+
+    public int getBirthEpochDay(int profile)
+    {
+        return birthEpochDays[profile];
+    }
+
+    public int getTargetEpochDay()
+    {
+        return targetEpochDay;
+    }
+
+    public int getDays()
+    {
+        return days;
+    }
+
+    // Adds a profile at the end and returns its position
+    public int addProfile(String name, int birthEpochDay)
+    {
+        int profile = profiles;
+        addProfiles(new String[] {name}, new int[] {birthEpochDay});
+        return profile;
+    }
+
+    // Adds many profiles at once, with a single redraw
+    public void addProfiles(String[] names, int[] birthEpochDays)
+    {
+        if (names.length != birthEpochDays.length)
+            throw new IllegalArgumentException("Every profile needs a name and a birthdate");
+
+        ensureCapacity(profiles + names.length);
+
+        for (int i = 0; i < names.length; i++)
+        {
+            this.names[profiles] = names[i];
+            this.birthEpochDays[profiles] = birthEpochDays[i];
+            dirty[profiles] = true;
+            profiles++;
+        }
+
+        update();
+    }
+
+    // Changes one person's birthdate; only their three series are resampled
+    public void setBirthEpochDay(int profile, int birthEpochDay)
+    {
+        checkProfile(profile);
+
+        if (birthEpochDays[profile] == birthEpochDay)
+            return;
+
+        birthEpochDays[profile] = birthEpochDay;
+        dirty[profile] = true;
+        update();
+    }
+
+    public void setName(int profile, String name)
+    {
+        checkProfile(profile);
+
+        names[profile] = name;
+        fireDatasetChanged();
+    }
+
+    // Removes a profile; the profiles after it move up one place, and nothing is resampled
+    public void removeProfile(int profile)
+    {
+        checkProfile(profile);
+
+        int after = profiles - profile - 1;
+        System.arraycopy(names, profile + 1, names, profile, after);
+        System.arraycopy(birthEpochDays, profile + 1, birthEpochDays, profile, after);
+        System.arraycopy(dirty, profile + 1, dirty, profile, after);
+
+        // The rows of the removed profile are moved to the end, so their arrays are reused by the next profile that is added
+        double[][] removedX = Arrays.copyOfRange(x, profile * CYCLES, (profile + 1) * CYCLES);
+        double[][] removedY = Arrays.copyOfRange(y, profile * CYCLES, (profile + 1) * CYCLES);
+        System.arraycopy(x, (profile + 1) * CYCLES, x, profile * CYCLES, after * CYCLES);
+        System.arraycopy(y, (profile + 1) * CYCLES, y, profile * CYCLES, after * CYCLES);
+        System.arraycopy(counts, (profile + 1) * CYCLES, counts, profile * CYCLES, after * CYCLES);
+        System.arraycopy(removedX, 0, x, (profiles - 1) * CYCLES, CYCLES);
+        System.arraycopy(removedY, 0, y, (profiles - 1) * CYCLES, CYCLES);
+
+        profiles--;
+        names[profiles] = null;
+        fireDatasetChanged();
+    }
+
+    public void clear()
+    {
+        Arrays.fill(names, 0, profiles, null);
+        profiles = 0;
+        fireDatasetChanged();
+    }
+
+    // Moves every profile to a new target date and number of days, which resamples all of them
+    public void setForecast(int targetEpochDay, int days)
+    {
+        if (targetEpochDay == this.targetEpochDay && days == this.days)
+            return;
+
+        this.targetEpochDay = targetEpochDay;
+        this.days = days;
+        markAllDirty();
+    }
+
+    // Tells the dataset how large the plot area is, in pixels, and resamples every profile if it changed
+    public void setResolution(int width, int height)
+    {
+        if (width < 1 || height < 1 || (width == pixelWidth && height == pixelHeight))
+            return;
+
+        pixelWidth = width;
+        pixelHeight = height;
+        markAllDirty();
+    }
+
+    private void markAllDirty()
+    {
+        Arrays.fill(dirty, 0, profiles, true);
+        update();
+    }
+
+    // Resamples the profiles that are out of date and redraws once
+    private void update()
+    {
+        int width = Math.max(pixelWidth, 3);
+        double valuePerPixel = AdaptiveCycleDataset.VALUE_RANGE / pixelHeight;
+
+        for (int profile = 0; profile < profiles; profile++)
+        {
+            if (!dirty[profile])
+                continue;
+
+            int dayDifference = targetEpochDay - birthEpochDays[profile];
+
+            for (int cycle = 0; cycle < CYCLES; cycle++)
+            {
+                int row = profile * CYCLES + cycle;
+
+                // The arrays of a row are only replaced when the graph gets wider than they are
+                if (x[row] == null || x[row].length < width)
+                {
+                    x[row] = new double[width];
+                    y[row] = new double[width];
+                }
+
+                counts[row] = AdaptiveCycleDataset.sampleCycle(cycle, dayDifference, 0, days, width, valuePerPixel, x[row], y[row]);
+            }
+
+            dirty[profile] = false;
+        }
+
+        fireDatasetChanged();
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity <= names.length)
+            return;
+
+        int grown = Math.max(capacity, names.length * 2);
+
+        names = Arrays.copyOf(names, grown);
+        birthEpochDays = Arrays.copyOf(birthEpochDays, grown);
+        dirty = Arrays.copyOf(dirty, grown);
+        x = Arrays.copyOf(x, grown * CYCLES);
+        y = Arrays.copyOf(y, grown * CYCLES);
+        counts = Arrays.copyOf(counts, grown * CYCLES);
+    }
+
+    private void checkProfile(int profile)
+    {
+        if (profile < 0 || profile >= profiles)
+            throw new IndexOutOfBoundsException("There is no profile " + profile + ", there are " + profiles);
+    }
+
+    @Override
+    public int getSeriesCount()
+    {
+        return profiles * CYCLES;
+    }
+
+    // Keys must be unique, and two people can have the same name, so the key starts with the profile's position
+    @Override
+    public Comparable<String> getSeriesKey(int series)
+    {
+        return (series / CYCLES + 1) + ". " + names[series / CYCLES] + " (" + CYCLE_NAMES[series % CYCLES] + ")";
+    }
+
+    @Override
+    public int getItemCount(int series)
+    {
+        return counts[series];
+    }
+
+    @Override
+    public double getXValue(int series, int item)
+    {
+        return x[series][item];
+    }
+
+    @Override
+    public double getYValue(int series, int item)
+    {
+        return y[series][item];
+    }
+
+    @Override
+    public Number getX(int series, int item)
+    {
+        return x[series][item];
+    }
+
+    @Override
+    public Number getY(int series, int item)
+    {
+        return y[series][item];
+    }
+}
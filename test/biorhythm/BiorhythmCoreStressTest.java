@@ -0,0 +1,117 @@
+package biorhythm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// Stress test for BiorhythmCore: many threads calculate the same inputs at the same time for a fixed time,
+// and every result is compared with the one calculated on a single thread before the threads were started
+// The number of threads and the run time can be changed with -Dbiorhythm.stress.threads and -Dbiorhythm.stress.seconds
+// (defaults: 4 threads per processor for 2 seconds)
+class BiorhythmCoreStressTest
+{
+    // Number of different inputs; a power of two so the threads can wrap around with a mask
+    private static final int INPUTS = 1 << 16;
+
+    @Test
+    void everyThreadGetsTheSingleThreadedResult() throws Exception
+    {
+        int threads = Integer.getInteger("biorhythm.stress.threads", 4 * Runtime.getRuntime().availableProcessors());
+        int seconds = Integer.getInteger("biorhythm.stress.seconds", 2);
+
+        // Random valid inputs, half of them given as dates and half as epoch days
+        Random random = new Random(42);
+        int[][] dates = new int[INPUTS][];
+        BiorhythmResult[] expected = new BiorhythmResult[INPUTS];
+
+        for (int i = 0; i < INPUTS; i++)
+        {
+            int bYear = BiorhythmDates.MIN_BIRTH_YEAR + random.nextInt(120);
+            int bMonth = 1 + random.nextInt(12);
+            int bDay = 1 + random.nextInt(BiorhythmDates.lengthOfMonth(bMonth, bYear));
+            int tYear = bYear + 1 + random.nextInt(80);
+            int tMonth = 1 + random.nextInt(12);
+            int tDay = 1 + random.nextInt(BiorhythmDates.lengthOfMonth(tMonth, tYear));
+
+            dates[i] = new int[] {bDay, bMonth, bYear, tDay, tMonth, tYear};
+            expected[i] = calculate(dates[i], i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long[] end = new long[1];
+
+        for (int t = 0; t < threads; t++)
+        {
+            // Neighbouring threads start a few inputs apart, so they keep calculating the same inputs at nearly the same moment
+            int first = t * 7;
+
+            futures.add(pool.submit(() -> {
+                start.await();
+
+                long calls = 0;
+                long mismatches = 0;
+
+                for (int i = first; System.nanoTime() < end[0]; i = (i + 1) & (INPUTS - 1))
+                {
+                    BiorhythmResult result = calculate(dates[i], i);
+                    calls++;
+
+                    if (!result.equals(expected[i]))
+                    {
+                        if (mismatches++ == 0)
+                            System.err.println("Mismatch on " + Thread.currentThread().getName() + ": expected " + expected[i] + ", got " + result);
+                    }
+                }
+
+                return new long[] {calls, mismatches};
+            }));
+        }
+
+        end[0] = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long before = System.nanoTime();
+        start.countDown();
+
+        long calls = 0;
+        long mismatches = 0;
+        try
+        {
+            for (Future<long[]> future : futures)
+            {
+                long[] counts = future.get();
+                calls += counts[0];
+                mismatches += counts[1];
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        double elapsed = (System.nanoTime() - before) / 1e9;
+        System.out.printf("%d calculations on %d threads in %.1f s (%.0f per second), %d mismatch(es)%n", calls, threads, elapsed, calls / elapsed, mismatches);
+
+        assertTrue(calls >= INPUTS, "Too few calculations to cover every input: " + calls);
+        assertEquals(0, mismatches, "Results that differed from the single-threaded ones");
+    }
+
+    // Even inputs go through the day, month and year entry point, odd ones through the epoch day one
+    private static BiorhythmResult calculate(int[] date, int i)
+    {
+        if ((i & 1) == 0)
+            return BiorhythmCore.calculate(date[0], date[1], date[2], date[3], date[4], date[5]);
+
+        return BiorhythmCore.calculate(BiorhythmDates.epochDay(date[0], date[1], date[2]), BiorhythmDates.epochDay(date[3], date[4], date[5]));
+    }
+}
@@ -0,0 +1,165 @@
+package biorhythm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// Load test for BiorhythmServer: keeps a number of requests in flight for a fixed time against a server started in this
+// process, checks every answer against BiorhythmCore, and reports requests per second and the 50th/99th percentile latency
+// The load can be changed with -Dbiorhythm.load.clients and -Dbiorhythm.load.seconds (defaults: 16 clients for 2 seconds)
+class BiorhythmLoadTest
+{
+    // Requests made and latencies seen by one client thread
+    private static final class ClientStats
+    {
+        long[] latencies = new long[1024];
+        int requests;
+        long failures;
+        long mismatches;
+
+        void record(long nanos)
+        {
+            if (requests == latencies.length)
+                latencies = Arrays.copyOf(latencies, requests * 2);
+            latencies[requests++] = nanos;
+        }
+    }
+
+    @Test
+    void everyRequestIsAnsweredCorrectlyUnderLoad() throws Exception
+    {
+        int concurrency = Integer.getInteger("biorhythm.load.clients", 16);
+        int seconds = Integer.getInteger("biorhythm.load.seconds", 2);
+
+        BiorhythmServer server = new BiorhythmServer(0);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getPort();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+
+        List<ClientStats> stats;
+        double elapsed;
+        try
+        {
+            long start = System.nanoTime();
+            stats = run(client, clients, baseUrl, concurrency, seconds);
+            elapsed = (System.nanoTime() - start) / 1e9;
+        }
+        finally
+        {
+            clients.shutdownNow();
+            server.stop();
+        }
+
+        int total = 0;
+        long failures = 0;
+        long mismatches = 0;
+        for (ClientStats s : stats)
+        {
+            total += s.requests;
+            failures += s.failures;
+            mismatches += s.mismatches;
+        }
+
+        long[] all = new long[total];
+        int position = 0;
+        for (ClientStats s : stats)
+        {
+            System.arraycopy(s.latencies, 0, all, position, s.requests);
+            position += s.requests;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%d requests (%d failed, %d wrong) in %.1f s with %d concurrent clients%n", total, failures, mismatches, elapsed, concurrency);
+        System.out.printf("Throughput: %.0f requests/s%n", total / elapsed);
+        if (total > 0)
+            System.out.printf("Latency: p50 %.3f ms, p99 %.3f ms%n", all[(int) (total * 0.50)] / 1e6, all[Math.min(total - 1, (int) (total * 0.99))] / 1e6);
+
+        assertTrue(total > 0, "No request was answered");
+        assertEquals(0, failures, "Requests that failed or did not get status 200");
+        assertEquals(0, mismatches, "Answers that differed from BiorhythmCore");
+    }
+
+    // Keeps every client sending requests one after another until the time runs out
+    private static List<ClientStats> run(HttpClient client, ExecutorService clients, String baseUrl, int concurrency, int seconds) throws Exception
+    {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<ClientStats>> futures = new ArrayList<>();
+
+        for (int c = 0; c < concurrency; c++)
+        {
+            int seed = c;
+            futures.add(clients.submit(() -> {
+                Random random = new Random(seed);
+                ClientStats stats = new ClientStats();
+
+                while (System.nanoTime() < end)
+                {
+                    int[] birth = randomDate(random, 1903, 2000);
+                    int[] target = randomDate(random, 2000, 2030);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/biorhythm?birth=" + format(birth) + "&target=" + format(target))).build();
+
+                    long before = System.nanoTime();
+                    try
+                    {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200)
+                            stats.failures++;
+                        else if (!response.body().endsWith(expectedCycles(birth, target)))
+                            stats.mismatches++;
+                    }
+                    catch (IOException e)
+                    {
+                        stats.failures++;
+                    }
+
+                    stats.record(System.nanoTime() - before);
+                }
+
+                return stats;
+            }));
+        }
+
+        List<ClientStats> results = new ArrayList<>();
+        for (Future<ClientStats> future : futures)
+            results.add(future.get());
+
+        return results;
+    }
+
+    // The end of the server's JSON answer for the two dates, as BiorhythmCore calculates it
+    private static String expectedCycles(int[] birth, int[] target)
+    {
+        BiorhythmResult result = BiorhythmCore.calculate(birth[0], birth[1], birth[2], target[0], target[1], target[2]);
+        return "\"days\":" + result.dayDifference + ",\"physical\":" + result.physical + ",\"emotional\":" + result.emotional
+                + ",\"intellectual\":" + result.intellectual + "}";
+    }
+
+    // {day, month, year}
+    private static int[] randomDate(Random random, int fromYear, int toYear)
+    {
+        return new int[] {1 + random.nextInt(28), 1 + random.nextInt(12), fromYear + random.nextInt(toYear - fromYear)};
+    }
+
+    private static String format(int[] date)
+    {
+        return String.format("%04d-%02d-%02d", date[2], date[1], date[0]);
+    }
+}